@@ -0,0 +1,73 @@
+package game.bench;
+
+import game.Barrier;
+import game.BarrierField;
+import game.GameWorld;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// 盾の当たり判定（1枚への Barrier#hitSwept と、盾全体への BarrierField#hitSwept）
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BarrierBenchmark {
+
+    static final int QUERIES = 256;
+
+    private final int[] queryX = new int[QUERIES];
+    private final int[] queryY = new int[QUERIES];
+
+    private final Barrier intact = new Barrier(100, 420);   // 削られる前の形（書き戻し用）
+    private final Barrier barrier = new Barrier(100, 420);
+    private final BarrierField field = new BarrierField(GameWorld.WIDTH);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (int i = 0; i < 4; i++) field.add(new Barrier(100 + i * 150, 420));
+
+        // 盾の周辺を上下に通過する弾（x は盾の幅 + 左右 8px、y は盾の上から下まで）
+        for (int i = 0; i < QUERIES; i++) {
+            queryX[i] = 92 + (i * 7) % (barrier.width() + 16);
+            queryY[i] = 400 + (i * 5) % 70;
+        }
+    }
+
+    // 毎回、削られる前の状態から始める（@Setup(Level.Invocation) は µs 単位の測定を歪めるので、
+    // 測る側の先頭で書き戻す。restore も同じ QUERIES で割るので、判定だけの時間は barrierHit - restore）
+    private void restoreCells() {
+        barrier.copyCellsFrom(intact);
+        for (int i = 0; i < field.size(); i++) field.get(i).copyCellsFrom(intact);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void barrierHit(Blackhole bh) {
+        restoreCells();
+        for (int i = 0; i < QUERIES; i++) {
+            bh.consume(barrier.hitSwept(queryX[i], 4, queryY[i], queryY[i] + 18, (i & 1) == 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void fieldHit(Blackhole bh) {
+        restoreCells();
+        for (int i = 0; i < QUERIES; i++) {
+            int x = queryX[i] + (i & 3) * 150;
+            bh.consume(field.hitSwept(x, 4, queryY[i], queryY[i] + 18, (i & 1) == 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public Barrier restore() {
+        restoreCells();
+        return barrier;
+    }
+}
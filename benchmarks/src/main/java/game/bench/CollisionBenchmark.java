@@ -0,0 +1,50 @@
+package game.bench;
+
+import game.Formation;
+import game.GameWorld;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// 弾 vs 敵の当たり判定（Formation#hitTest）。隊列の大きさを変えて測る
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollisionBenchmark {
+
+    static final int QUERIES = 1024;
+
+    @Param({"4x10", "10x40", "20x100"})
+    public String formation;
+
+    private Formation enemies;
+    private final int[] queryX = new int[QUERIES];
+    private final int[] queryY = new int[QUERIES];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] size = formation.split("x");
+        GameWorld world = new GameWorld(Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+        world.reset();
+        enemies = world.formation();
+
+        // 画面全体に散らした弾（半分ほどは隊列の外）
+        for (int i = 0; i < QUERIES; i++) {
+            queryX[i] = (i * 53) % GameWorld.WIDTH;
+            queryY[i] = (i * 29) % (GameWorld.HEIGHT / 2);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public void bulletVsEnemies(Blackhole bh) {
+        for (int i = 0; i < QUERIES; i++) {
+            bh.consume(enemies.hitTest(queryX[i], queryY[i], 4, 10));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package game.bench;
+
+import game.GameConfig;
+import game.GameWorld;
+import game.InputFrame;
+import game.ParallelPhases;
+import game.StateRing;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// 弾の多いワールドで GameWorld#tick を逐次版と ParallelPhases（共通プール）で比べる
+// 盤面は WorldTickBenchmark と同じ作り方で、呼び出しの先頭で初期状態を StateRing から書き戻す
+// 書き戻しだけの時間は restore で測る（ティックだけの時間は tick - restore / TICKS）
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParallelTickBenchmark {
+
+    static final int TICKS = 16;
+
+    @Param({"1000", "10000", "50000"})
+    public int bullets;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private GameWorld world;
+    private final StateRing initial = new StateRing(1);
+
+    @Setup(Level.Trial)
+    public void createWorld() {
+        world = new GameWorld(GameConfig.stress());
+        if (parallel) world.setParallel(new ParallelPhases(ForkJoinPool.commonPool(), 1));
+        world.reset(1);
+        world.scatterBullets(bullets);
+        initial.save(world);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public GameWorld tick() {
+        initial.restore(world, 0);
+        InputFrame input = InputFrame.of(false, false, true);
+        for (int i = 0; i < TICKS; i++) {
+            world.tick(input);
+        }
+        return world;
+    }
+
+    @Benchmark
+    public GameWorld restore() {
+        initial.restore(world, 0);
+        return world;
+    }
+}
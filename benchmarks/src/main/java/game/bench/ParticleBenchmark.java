@@ -0,0 +1,57 @@
+package game.bench;
+
+import game.GameWorld;
+import game.ParticleSystem;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+// パーティクル1フレーム分（update + draw）。生きている粒の数を particles 前後に保ちながら測る（ヘッドレスで実行）
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class ParticleBenchmark {
+
+    static final long FRAME_NANOS = 16_000_000L;
+
+    @Param({"1000", "10000", "50000"})
+    public int particles;
+
+    private ParticleSystem system;
+    private BufferedImage frame;
+    private Graphics2D g2;
+    private long now;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        system = new ParticleSystem(65536, GameWorld.WIDTH, GameWorld.HEIGHT);
+        frame = new BufferedImage(GameWorld.WIDTH, GameWorld.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g2 = frame.createGraphics();
+        for (int i = 0; i < 100 && system.size() < particles; i++) frame();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g2.dispose();
+    }
+
+    @Benchmark
+    public int frame() {
+        // 減った分を自機の爆発（1回 200 粒）で補う
+        for (int n = system.size(); n < particles; n += 200) {
+            next = (next + 97) % 700;
+            system.emit(ParticleSystem.PLAYER_DOWN, 50 + next, 100 + next % 400);
+        }
+        now += FRAME_NANOS;
+        system.update(now);
+        system.draw(g2);
+        return system.size();
+    }
+}
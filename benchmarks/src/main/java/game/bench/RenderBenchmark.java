@@ -0,0 +1,59 @@
+package game.bench;
+
+import game.GameRenderer;
+import game.GameWorld;
+import game.WorldSnapshot;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// 1フレーム分の描画をオフスクリーンの BufferedImage に対して測る（ヘッドレスで実行）
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+    @Param({"4x10", "10x40", "20x100"})
+    public String formation;
+
+    @Param({"100"})
+    public int bullets;
+
+    private final GameRenderer renderer = new GameRenderer();
+    private final WorldSnapshot snapshot = new WorldSnapshot();
+    private BufferedImage frame;
+    private Graphics2D g2;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        renderer.setPlayBackground(ImageIO.read(GameRenderer.class.getResource("/image/background.png")));
+
+        String[] size = formation.split("x");
+        GameWorld world = new GameWorld(Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+        world.reset();
+        world.scatterBullets(bullets);
+        snapshot.capture(world, 0);
+
+        frame = new BufferedImage(GameWorld.WIDTH, GameWorld.HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g2 = frame.createGraphics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        g2.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage renderFrame() {
+        renderer.render(g2, snapshot, 0.5, false);
+        return frame;
+    }
+}
@@ -0,0 +1,88 @@
+package game.bench;
+
+import game.GameConfig;
+import game.GameRandom;
+import game.GameSimulation;
+import game.GameWorld;
+import game.InputFrame;
+import game.InputPolicy;
+import game.InputRecorder;
+import game.InputReplay;
+import game.ReplayRunner;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// 記録した入力の再生（できるだけ速く）。実プレイと同じ入力列で GameWorld#tick を測る
+//
+// -Dinvaders.replay=<ファイル> で実際のプレイ記録を使う。指定がなければ
+// 追尾ボットで数ゲーム分を一時ファイルに記録して使う
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReplayBenchmark {
+
+    static final int GENERATED_GAMES = 8;
+    static final int MAX_TICKS = 20_000;
+
+    private Path generated;
+    private InputReplay replay;
+    private GameWorld world;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        String path = System.getProperty("invaders.replay");
+        Path file;
+        if (path != null && !path.isBlank()) {
+            file = Path.of(path.trim());
+        } else {
+            generated = Files.createTempFile("invaders-replay", ".rec");
+            record(generated);
+            file = generated;
+        }
+        replay = new InputReplay(file);
+        world = new GameWorld(replay.config());
+    }
+
+    // 追尾ボットのプレイを記録する
+    static void record(Path file) throws IOException {
+        GameConfig config = new GameConfig();
+        GameWorld world = new GameWorld(config);
+        InputPolicy policy = InputPolicy.tracking();
+        GameRandom seeds = new GameRandom(42);
+        try (InputRecorder recorder = new InputRecorder(file, config, GameSimulation.STEP_NANOS)) {
+            for (int g = 0; g < GENERATED_GAMES; g++) {
+                long seed = seeds.nextLong();
+                world.reset(seed);
+                recorder.reset(seed);
+                while (world.isRunning() && world.currentTick() < MAX_TICKS) {
+                    InputFrame input = policy.next(world);
+                    world.tick(input);
+                    recorder.tick(input.bits());
+                }
+                recorder.check(world.currentTick(), world.checksum());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        replay.close();
+        if (generated != null) Files.deleteIfExists(generated);
+    }
+
+    @Benchmark
+    public long replayAll() throws IOException {
+        replay.rewind();
+        ReplayRunner.Summary summary = ReplayRunner.play(replay, world, false);
+        if (summary.mismatches() > 0) throw new IllegalStateException("replay diverged: " + summary);
+        return summary.ticks();
+    }
+}
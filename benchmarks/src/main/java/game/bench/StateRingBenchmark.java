@@ -0,0 +1,62 @@
+package game.bench;
+
+import game.GameConfig;
+import game.GameWorld;
+import game.InputFrame;
+import game.InputPolicy;
+import game.StateRing;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// 巻き戻し用の状態の保存（StateRing#save）と書き戻し（StateRing#restore）
+// 通常の設定と --stress の設定で、数百ティック進めた状態を使う
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StateRingBenchmark {
+
+    @Param({"default", "stress"})
+    public String config;
+
+    private GameWorld world;
+    private final StateRing ring = new StateRing(64);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GameConfig c = config.equals("stress") ? GameConfig.stress() : new GameConfig();
+        world = new GameWorld(c);
+        world.reset(1);
+        InputPolicy policy = InputPolicy.tracking();
+        for (int i = 0; i < 200 && world.isRunning(); i++) world.tick(policy.next(world));
+        world.scatterBullets(200);
+
+        // 2つ前は倒れた敵が少ない状態（書き戻しで敵が生き返る場合も測る）
+        ring.save(world);
+        for (int i = 0; i < 30 && world.isRunning(); i++) world.tick(InputFrame.of(false, false, true));
+        ring.save(world);
+    }
+
+    @Benchmark
+    public StateRing save() {
+        ring.save(world);   // 一杯になったら一番古いものを上書きするだけ
+        return ring;
+    }
+
+    @Benchmark
+    public GameWorld restoreLatest() {
+        ring.restore(world, 0);
+        return world;
+    }
+
+    @Benchmark
+    public GameWorld restoreWithRevive() {
+        ring.restore(world, 1);
+        ring.restore(world, 0);
+        return world;
+    }
+}
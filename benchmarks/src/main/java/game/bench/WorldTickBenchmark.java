@@ -0,0 +1,59 @@
+package game.bench;
+
+import game.GameWorld;
+import game.InputFrame;
+import game.StateRing;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// GameWorld#tick（旧 GamePanel.updateGame 相当）を敵・弾の数を変えて測る
+// 1回の呼び出しで TICKS ティック進める。毎回同じ盤面から始めるよう、先頭で初期状態を StateRing から書き戻す
+// （呼び出しごとの @Setup(Level.Invocation) は、その準備と時刻取得の手間が数十µs の測定に乗るので使わない）
+// 書き戻しだけの時間は restore で測る。ティックだけの時間は tick - restore / TICKS
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class WorldTickBenchmark {
+
+    static final int TICKS = 64;
+
+    @Param({"4x10", "10x40", "20x100"})
+    public String formation;
+
+    @Param({"0", "100", "1000"})
+    public int bullets;
+
+    private GameWorld world;
+    private final StateRing initial = new StateRing(1);
+
+    @Setup(Level.Trial)
+    public void createWorld() {
+        String[] size = formation.split("x");
+        world = new GameWorld(Integer.parseInt(size[0]), Integer.parseInt(size[1]));
+        world.reset();
+        world.scatterBullets(bullets);
+        initial.save(world);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public GameWorld tick() {
+        initial.restore(world, 0);
+        InputFrame input = InputFrame.of(false, false, true);
+        for (int i = 0; i < TICKS; i++) {
+            world.tick(input);
+        }
+        return world;
+    }
+
+    @Benchmark
+    public GameWorld restore() {
+        initial.restore(world, 0);
+        return world;
+    }
+}
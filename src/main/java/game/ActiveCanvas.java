@@ -0,0 +1,97 @@
+package game;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.util.function.BooleanSupplier;
+
+// BufferStrategy を使った能動描画
+// repaint() に頼らず、専用の描画スレッドが最新のスナップショットを補間付きで描いて show() する
+// 描く間隔は FramePacer 任せ（画面のリフレッシュレート・指定の Hz・上限なし）
+public class ActiveCanvas extends Canvas {
+
+    private final SnapshotSource source;
+    private final GameRenderer renderer;
+    private final BooleanSupplier showStartScreen;
+    private final int buffers;
+    private final FramePacer pacer;
+
+    private volatile Thread renderThread;
+
+    public ActiveCanvas(SnapshotSource source, GameRenderer renderer,
+                        BooleanSupplier showStartScreen, int buffers, FramePacer pacer) {
+        this.source = source;
+        this.renderer = renderer;
+        this.showStartScreen = showStartScreen;
+        this.buffers = buffers;
+        this.pacer = pacer;
+
+        setIgnoreRepaint(true);
+        setBackground(Color.BLACK);
+        setFocusable(true);
+    }
+
+    // ピアが出来てから BufferStrategy を作り、描画スレッドを開始する
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        createBufferStrategy(buffers);
+        renderThread = new Thread(this::renderLoop, "game-render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        Thread t = renderThread;
+        renderThread = null;
+        if (t != null) {
+            t.interrupt();
+            try {
+                t.join(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        super.removeNotify();
+    }
+
+    private void renderLoop() {
+        Thread self = Thread.currentThread();
+        BufferStrategy strategy = getBufferStrategy();
+        if (pacer.periodNanos() == FramePacer.DISPLAY) pacer.setPeriod(frameNanos());
+
+        while (renderThread == self && !self.isInterrupted()) {
+            long frameStart = System.nanoTime();
+            WorldSnapshot snapshot = source.latest();
+            boolean start = showStartScreen.getAsBoolean();
+
+            // バックバッファが失われた場合は描き直す
+            do {
+                do {
+                    Graphics2D g2 = (Graphics2D) strategy.getDrawGraphics();
+                    try {
+                        long now = System.nanoTime();
+                        renderer.render(g2, snapshot, source.alpha(snapshot, now), start);
+                    } finally {
+                        g2.dispose();
+                    }
+                } while (strategy.contentsRestored());
+                strategy.show();
+            } while (strategy.contentsLost());
+            Toolkit.getDefaultToolkit().sync();
+            // 描画から show・sync までがこのフレームの仕事（締め切りまで待つ時間は含めない）
+            renderer.frameFinished(System.nanoTime() - frameStart);
+
+            // 次のフレームの締め切りまで待つ
+            pacer.awaitNext();
+        }
+    }
+
+    private long frameNanos() {
+        int hz = DisplayMode.REFRESH_RATE_UNKNOWN;
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc != null) hz = gc.getDevice().getDisplayMode().getRefreshRate();
+        if (hz <= 0) hz = 60;
+        return 1_000_000_000L / hz;
+    }
+}
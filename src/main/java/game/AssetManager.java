@@ -0,0 +1,98 @@
+package game;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// 画像・効果音をバックグラウンドで並列に読み込む
+// 読み込みごとの所要時間と、起動から最初のフレームまでの時間をログに出す（起動時間の劣化を追うため）
+public class AssetManager {
+
+    private final long createdNanos = System.nanoTime();
+    private final ExecutorService executor;
+    private final AtomicBoolean firstFrameLogged = new AtomicBoolean(false);
+
+    public AssetManager() {
+        int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger count = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "asset-loader-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // 画像（見つからない・読めない場合は null）
+    public CompletableFuture<BufferedImage> image(String path) {
+        return CompletableFuture.supplyAsync(() -> timed(path, () -> {
+            URL url = resource(path);
+            if (url == null) return null;
+            try {
+                return ImageIO.read(url);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }), executor).exceptionally(e -> {
+            e.printStackTrace();
+            return null;
+        });
+    }
+
+    // 効果音をミキサーに登録して番号を返す（失敗時は -1）
+    public CompletableFuture<Integer> sound(String path, SoundMixer mixer) {
+        return CompletableFuture.supplyAsync(() -> timed(path, () -> {
+            URL url = resource(path);
+            return url == null ? -1 : mixer.load(url);
+        }), executor).exceptionally(e -> {
+            e.printStackTrace();
+            return -1;
+        });
+    }
+
+    // 全部読み終わったら完了する。合計時間を出してスレッドを片付ける
+    public CompletableFuture<Void> whenAllLoaded(CompletableFuture<?>... assets) {
+        return CompletableFuture.allOf(assets).whenComplete((v, e) -> {
+            System.out.printf("[assets] all loaded in %.1f ms%n", millisSince(createdNanos));
+            executor.shutdown();
+        });
+    }
+
+    // 最初のフレームを描いた時に1回だけ呼ぶ
+    public void firstFrame() {
+        if (!firstFrameLogged.compareAndSet(false, true)) return;
+        long sinceLaunch = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.out.printf("[startup] first frame %.1f ms after asset manager, %d ms after JVM start%n",
+                millisSince(createdNanos), sinceLaunch);
+    }
+
+    private <T> T timed(String path, Supplier<T> load) {
+        long start = System.nanoTime();
+        try {
+            return load.get();
+        } finally {
+            System.out.printf("[assets] %s loaded in %.1f ms (%s)%n",
+                    path, millisSince(start), Thread.currentThread().getName());
+        }
+    }
+
+    private URL resource(String path) {
+        URL url = getClass().getResource(path);
+        if (url == null) {
+            System.out.println(path.substring(path.lastIndexOf('/') + 1) + " not found: " + path);
+        }
+        return url;
+    }
+
+    private static double millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+}
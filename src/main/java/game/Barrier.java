@@ -1,4 +1,4 @@
-import java.awt.*;
+package game;
 
 public class Barrier {
 
@@ -8,13 +8,18 @@ public class Barrier {
     int cols = 12;   // 横セル数
     int rows = 8;    // 縦セル数
 
-    int[][] hp;      // 耐久値（0 = 破壊）
+    byte[] hp;       // 耐久値（0 = 破壊）。r * cols + c
+    int liveCells;   // 耐久値が残っているセル数
+    int version;     // セルが削られるたびに増える（描画キャッシュの更新判定用）
+
+    // BarrierField 内の通し番号
+    int index = -1;
 
     public Barrier(int x, int y) {
         this.x = x;
         this.y = y;
 
-        hp = new int[rows][cols];
+        hp = new byte[rows * cols];
 
         // アーチ型シールドの形
         for (int r = 0; r < rows; r++) {
@@ -27,57 +32,62 @@ public class Barrier {
                                 (r == 0 && c >= 4 && c <= 7);
 
                 if (inside) {
-                    hp[r][c] = 3;  // 耐久値3
-                } else {
-                    hp[r][c] = 0;
+                    hp[r * cols + c] = 3;  // 耐久値3
+                    liveCells++;
                 }
             }
         }
     }
 
-    public void draw(Graphics2D g2) {
-
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-
-                if (hp[r][c] <= 0) continue;
+    public int width() {
+        return cols * cellSize;
+    }
 
-                int px = x + c * cellSize;
-                int py = y + r * cellSize;
+    public int height() {
+        return rows * cellSize;
+    }
 
-                Color color = switch (hp[r][c]) {
-                    case 3 -> new Color(0, 200, 0);   // 緑
-                    case 2 -> new Color(150, 200, 0); // 黄緑
-                    case 1 -> new Color(200, 150, 0); // オレンジ
-                    default -> Color.RED;
-                };
+    // 弾がこのティックで通過した範囲 [bx, bx + w) × [top, bottom) を進行方向から1行ずつたどり、
+    // 最初に見つかった生存セルの耐久値を減らす（先端の1点だけ調べると、速い弾がセルをすり抜けるため）
+    public boolean hitSwept(int bx, int w, int top, int bottom, boolean downward) {
+        int cell = findSwept(bx, w, top, bottom, downward);
+        if (cell < 0) return false;
+        if (--hp[cell] == 0) liveCells--;
+        version++;
+        return true;
+    }
 
-                g2.setColor(color);
-                g2.fillRect(px, py, cellSize, cellSize);
+    // hitSwept で削られるセルの番号（無ければ -1）。状態は変えないので複数スレッドから同時に呼べる
+    // 弾は縦にしか動かないので、DDA は行を1つずつ進めるだけになる
+    public int findSwept(int bx, int w, int top, int bottom, boolean downward) {
+        if (liveCells == 0) return -1;
+
+        int c0 = Math.max(0, Math.floorDiv(bx - x, cellSize));
+        int c1 = Math.min(cols - 1, Math.floorDiv(bx + w - 1 - x, cellSize));
+        int r0 = Math.max(0, Math.floorDiv(top - y, cellSize));
+        int r1 = Math.min(rows - 1, Math.floorDiv(bottom - 1 - y, cellSize));
+        if (c0 > c1 || r0 > r1) return -1;
+
+        int step = downward ? 1 : -1;
+        int r = downward ? r0 : r1;
+        int end = downward ? r1 + 1 : r0 - 1;
+        for (; r != end; r += step) {
+            int base = r * cols;
+            for (int c = c0; c <= c1; c++) {
+                if (hp[base + c] > 0) return base + c;
             }
         }
+        return -1;
     }
 
-    // 弾が当たったら該当セルの耐久値を減らす
-    public boolean hit(int bx, int by) {
-        int cx = (bx - x) / cellSize;
-        int cy = (by - y) / cellSize;
-
-        if (cx < 0 || cx >= cols || cy < 0 || cy >= rows) return false;
-
-        if (hp[cy][cx] > 0) {
-            hp[cy][cx]--;
-            return true;
-        }
-        return false;
+    // other（同じ形の盾）のセルの耐久値を写す（ベンチマークで削られる前の状態に戻す用）
+    public void copyCellsFrom(Barrier other) {
+        System.arraycopy(other.hp, 0, hp, 0, hp.length);
+        liveCells = other.liveCells;
+        version++;
     }
 
     public boolean isDestroyed() {
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                if (hp[r][c] > 0) return false;
-            }
-        }
-        return true;
+        return liveCells == 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,131 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 全ての盾をまとめた当たり判定
+// x 方向を一定幅のバケットに区切り、各バケットに重なる盾だけを覚えておく。
+// 弾は自分の x 範囲のバケットにいる盾だけを調べる（全弾 × 全盾の総当たりをしない）
+public class BarrierField {
+
+    private static final int BUCKET_WIDTH = 32;
+
+    final List<Barrier> barriers = new ArrayList<>();
+
+    private final int bucketCount;
+    private final Barrier[][] buckets;
+    private final int[] bucketSize;
+
+    // 全ての盾を含む y 範囲（範囲外の弾はすぐに除外）
+    private int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+
+    public BarrierField(int worldWidth) {
+        bucketCount = (worldWidth + BUCKET_WIDTH - 1) / BUCKET_WIDTH;
+        buckets = new Barrier[bucketCount][2];
+        bucketSize = new int[bucketCount];
+    }
+
+    public void clear() {
+        barriers.clear();
+        for (int i = 0; i < bucketCount; i++) {
+            Arrays.fill(buckets[i], 0, bucketSize[i], null);
+            bucketSize[i] = 0;
+        }
+        minY = Integer.MAX_VALUE;
+        maxY = Integer.MIN_VALUE;
+    }
+
+    public void add(Barrier barrier) {
+        barrier.index = barriers.size();
+        barriers.add(barrier);
+
+        int b0 = bucket(barrier.x);
+        int b1 = bucket(barrier.x + barrier.width() - 1);
+        for (int b = b0; b <= b1; b++) {
+            if (bucketSize[b] == buckets[b].length) {
+                buckets[b] = Arrays.copyOf(buckets[b], buckets[b].length * 2);
+            }
+            buckets[b][bucketSize[b]++] = barrier;
+        }
+
+        minY = Math.min(minY, barrier.y);
+        maxY = Math.max(maxY, barrier.y + barrier.height());
+    }
+
+    // x 範囲が重なる盾だけに Barrier#hitSwept を行う
+    // 盾が縦に重なっている場合に備え、進行方向で手前の盾から順に試す
+    // （候補は通常1つ。順序は (手前からの距離, 通し番号) で決め、複数バケットにまたがる盾も1回だけ試す）
+    public boolean hitSwept(int bx, int w, int top, int bottom, boolean downward) {
+        if (bottom <= minY || top >= maxY) return false;
+
+        int b0 = bucket(bx);
+        int b1 = bucket(bx + w - 1);
+
+        long tried = Long.MIN_VALUE;
+        while (true) {
+            Barrier next = null;
+            long nextKey = Long.MAX_VALUE;
+            for (int b = b0; b <= b1; b++) {
+                Barrier[] list = buckets[b];
+                for (int i = 0, n = bucketSize[b]; i < n; i++) {
+                    Barrier barrier = list[i];
+                    if (barrier.liveCells == 0) continue;
+                    if (bx + w <= barrier.x || bx >= barrier.x + barrier.width()) continue;
+                    if (bottom <= barrier.y || top >= barrier.y + barrier.height()) continue;
+
+                    long key = orderKey(barrier, downward);
+                    if (key > tried && key < nextKey) {
+                        next = barrier;
+                        nextKey = key;
+                    }
+                }
+            }
+            if (next == null) return false;
+            if (next.hitSwept(bx, w, top, bottom, downward)) return true;
+            tried = nextKey;
+        }
+    }
+
+    // hitSwept で削られるセルがあるか（状態は変えないので複数スレッドから同時に呼べる）
+    public boolean touchesSwept(int bx, int w, int top, int bottom, boolean downward) {
+        if (bottom <= minY || top >= maxY) return false;
+
+        int b0 = bucket(bx);
+        int b1 = bucket(bx + w - 1);
+        for (int b = b0; b <= b1; b++) {
+            Barrier[] list = buckets[b];
+            for (int i = 0, n = bucketSize[b]; i < n; i++) {
+                if (list[i].findSwept(bx, w, top, bottom, downward) >= 0) return true;
+            }
+        }
+        return false;
+    }
+
+    private static long orderKey(Barrier barrier, boolean downward) {
+        long near = downward ? barrier.y : -(barrier.y + barrier.height());
+        return (near << 32) | barrier.index;
+    }
+
+    // 全ての盾の耐久値の合計
+    public int totalHp() {
+        int total = 0;
+        for (Barrier barrier : barriers) {
+            for (byte hp : barrier.hp) total += hp;
+        }
+        return total;
+    }
+
+    public int size() {
+        return barriers.size();
+    }
+
+    public Barrier get(int i) {
+        return barriers.get(i);
+    }
+
+    private int bucket(int px) {
+        int b = Math.floorDiv(px, BUCKET_WIDTH);
+        return b < 0 ? 0 : Math.min(b, bucketCount - 1);
+    }
+}
@@ -0,0 +1,111 @@
+package game;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+// 盾の描画キャッシュ
+// 盾ごとに画像を1枚持ち、削られたセルだけを描き直す。毎フレームは drawImage 1回だけで、割り当ては行わない
+public class BarrierLayer {
+
+    private static final Color HP3 = new Color(0, 200, 0);    // 緑
+    private static final Color HP2 = new Color(150, 200, 0);  // 黄緑
+    private static final Color HP1 = new Color(200, 150, 0);  // オレンジ
+
+    private int generation = -1;
+    private BufferedImage[] images = new BufferedImage[0];
+    private Graphics2D[] painters = new Graphics2D[0];
+    private byte[][] drawn = new byte[0][];     // 画像に描いてある耐久値
+    private int[] drawnVersion = new int[0];
+
+    // 削れた盾を描き直す間隔（品質を下げると間引く。描き直さない間は前の絵のまま）
+    private int redrawEvery = 1;
+    private int frame = 0;
+
+    public void setRedrawEvery(int frames) {
+        redrawEvery = Math.max(1, frames);
+    }
+
+    public void draw(Graphics2D g2, WorldSnapshot s) {
+        int n = s.barrierCount;
+        if (images.length < n) grow(n);
+
+        // リスタートで盾が作り直された: 全部描き直す
+        boolean rebuild = generation != s.generation;
+        generation = s.generation;
+        boolean redraw = ++frame >= redrawEvery;
+        if (redraw) frame = 0;
+
+        for (int i = 0; i < n; i++) {
+            if (rebuild || images[i] == null) {
+                rebuild(i, s);
+            } else if (redraw && drawnVersion[i] != s.barrierVersion[i]) {
+                update(i, s);
+            }
+            if (s.barrierLiveCells[i] > 0) {
+                g2.drawImage(images[i], s.barrierX[i], s.barrierY[i], null);
+            }
+        }
+    }
+
+    private void rebuild(int i, WorldSnapshot s) {
+        if (painters[i] != null) painters[i].dispose();
+
+        int size = s.barrierCellSize[i];
+        images[i] = RenderCache.createCompatibleImage(s.barrierCols[i] * size, s.barrierRows[i] * size,
+                Transparency.BITMASK);
+        painters[i] = images[i].createGraphics();
+        painters[i].setComposite(AlphaComposite.Src);
+        byte[] hp = s.barrierHp[i];
+        drawn[i] = new byte[hp.length];
+
+        for (int cell = 0; cell < hp.length; cell++) {
+            paintCell(i, s, cell);
+        }
+        drawnVersion[i] = s.barrierVersion[i];
+    }
+
+    // 前回から耐久値が変わったセルだけ描き直す
+    private void update(int i, WorldSnapshot s) {
+        byte[] hp = s.barrierHp[i];
+        byte[] old = drawn[i];
+        for (int cell = 0; cell < hp.length; cell++) {
+            if (hp[cell] != old[cell]) paintCell(i, s, cell);
+        }
+        drawnVersion[i] = s.barrierVersion[i];
+    }
+
+    private void paintCell(int i, WorldSnapshot s, int cell) {
+        int hp = s.barrierHp[i][cell];
+        int size = s.barrierCellSize[i];
+        int px = (cell % s.barrierCols[i]) * size;
+        int py = (cell / s.barrierCols[i]) * size;
+
+        Color color = switch (hp) {
+            case 3 -> HP3;
+            case 2 -> HP2;
+            case 1 -> HP1;
+            case 0 -> null;
+            default -> Color.RED;
+        };
+
+        Graphics2D g = painters[i];
+        if (color == null) {
+            // 破壊されたセルは透明に戻す
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(px, py, size, size);
+            g.setComposite(AlphaComposite.Src);
+        } else {
+            g.setColor(color);
+            g.fillRect(px, py, size, size);
+        }
+        drawn[i][cell] = (byte) hp;
+    }
+
+    private void grow(int n) {
+        images = Arrays.copyOf(images, n);
+        painters = Arrays.copyOf(painters, n);
+        drawn = Arrays.copyOf(drawn, n);
+        drawnVersion = Arrays.copyOf(drawnVersion, n);
+    }
+}
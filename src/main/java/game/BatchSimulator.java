@@ -0,0 +1,121 @@
+package game;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// ヘッドレスで大量のゲームを並列に最後まで回し、勝率などを集計する（バランス調整用）
+//
+//   java -cp space-invaders.jar game.BatchSimulator --games 10000 --policy tracking --enemyShotInterval 40
+//
+// ゲーム i のシードは (seed, i) だけで決まり、各タスクは自分専用の GameWorld を使い回すので、
+// スレッド数を変えても集計結果は同じ。--scaling を付けると 1, 2, 4, … スレッドでの速度も測る
+public class BatchSimulator {
+
+    private static final int LEAF_GAMES = 16;   // これ以下は分割せずに1タスクで回す
+
+    private final GameConfig config;
+    private final String policy;
+    private final long seed;
+    private final int maxTicks;
+
+    public BatchSimulator(GameConfig config, String policy, long seed, int maxTicks) {
+        this.config = config;
+        this.policy = policy;
+        this.seed = seed;
+        this.maxTicks = maxTicks;
+        InputPolicy.named(policy, 0);   // 名前の確認だけ
+    }
+
+    public static void main(String[] args) throws IOException {
+        Properties p = GameConfig.parseArgs(args);
+        GameConfig config = GameConfig.fromArgs(p);
+        int games = GameConfig.intValue(p, "games", 1000, 1);
+        int threads = GameConfig.intValue(p, "threads", Runtime.getRuntime().availableProcessors(), 1);
+        int maxTicks = GameConfig.intValue(p, "maxTicks", 20_000, 1);
+        long seed = Long.parseLong(p.getProperty("seed", "1"));
+        String policy = p.getProperty("policy", "tracking");
+
+        BatchSimulator sim = new BatchSimulator(config, policy, seed, maxTicks);
+        System.out.println("config: " + config + " policy=" + policy + " seed=" + seed + " maxTicks=" + maxTicks);
+
+        if (Boolean.parseBoolean(p.getProperty("scaling", "false"))) {
+            sim.measure(Math.min(games, 500), threads);   // JIT のウォームアップ
+            double base = 0;
+            for (int t = 1; ; t = Math.min(t * 2, threads)) {
+                double rate = sim.measure(games, t).gamesPerSecond;
+                if (t == 1) base = rate;
+                System.out.printf("threads=%d games/s=%.1f speedup=%.2fx%n", t, rate, rate / base);
+                if (t == threads) break;
+            }
+        } else {
+            Result result = sim.measure(games, threads);
+            System.out.println(result.stats);
+            System.out.printf("threads=%d elapsed=%.2fs games/s=%.1f ticks/s=%.0f%n", threads,
+                    result.seconds, result.gamesPerSecond, result.stats.totalTicks / result.seconds);
+        }
+    }
+
+    public static final class Result {
+        final BatchStats stats;
+        final double seconds;
+        final double gamesPerSecond;
+
+        Result(BatchStats stats, double seconds) {
+            this.stats = stats;
+            this.seconds = seconds;
+            this.gamesPerSecond = stats.games / seconds;
+        }
+    }
+
+    public Result measure(int games, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            long start = System.nanoTime();
+            BatchStats stats = pool.invoke(new Games(0, games));
+            return new Result(stats, (System.nanoTime() - start) / 1e9);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // ゲーム番号 [from, to) を担当するタスク
+    private final class Games extends RecursiveTask<BatchStats> {
+        private final int from, to;
+
+        Games(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BatchStats compute() {
+            if (to - from > LEAF_GAMES) {
+                int mid = (from + to) >>> 1;
+                Games left = new Games(from, mid);
+                left.fork();
+                BatchStats right = new Games(mid, to).compute();
+                return left.join().merge(right);
+            }
+
+            BatchStats stats = new BatchStats();
+            GameWorld world = new GameWorld(config);
+            for (int i = from; i < to; i++) {
+                long gameSeed = gameSeed(i);
+                InputPolicy input = InputPolicy.named(policy, gameSeed ^ 0x5DEECE66DL);
+                world.reset(gameSeed);
+                for (int t = 0; t < maxTicks && world.isRunning(); t++) {
+                    world.tick(input.next(world));
+                }
+                stats.record(world);
+            }
+            return stats;
+        }
+    }
+
+    // (seed, i) からゲームごとのシードを作る（SplitMix64 の1ステップ）
+    private long gameSeed(int i) {
+        return new GameRandom(seed + i * 0x9e3779b97f4a7c15L).nextLong();
+    }
+}
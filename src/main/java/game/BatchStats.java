@@ -0,0 +1,61 @@
+package game;
+
+// BatchSimulator の集計（タスクごとに作って最後に merge する）
+public class BatchStats {
+
+    long games, wins, losses, timeouts;
+    long totalTicks;
+    long clearTicksSum;
+    long clearTicksMin = Long.MAX_VALUE, clearTicksMax = 0;
+    long kills;
+    double barrierWearSum;   // 1ゲームごとの消耗率（0.0〜1.0）の合計
+
+    void record(GameWorld world) {
+        games++;
+        totalTicks += world.tick;
+        kills += world.formation.size - world.formation.aliveCount;
+        if (world.initialBarrierHp > 0) {
+            barrierWearSum += 1.0 - (double) world.barriers.totalHp() / world.initialBarrierHp;
+        }
+
+        if (world.gameClear) {
+            wins++;
+            clearTicksSum += world.tick;
+            clearTicksMin = Math.min(clearTicksMin, world.tick);
+            clearTicksMax = Math.max(clearTicksMax, world.tick);
+        } else if (world.gameOver) {
+            losses++;
+        } else {
+            timeouts++;
+        }
+    }
+
+    BatchStats merge(BatchStats other) {
+        games += other.games;
+        wins += other.wins;
+        losses += other.losses;
+        timeouts += other.timeouts;
+        totalTicks += other.totalTicks;
+        clearTicksSum += other.clearTicksSum;
+        clearTicksMin = Math.min(clearTicksMin, other.clearTicksMin);
+        clearTicksMax = Math.max(clearTicksMax, other.clearTicksMax);
+        kills += other.kills;
+        barrierWearSum += other.barrierWearSum;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        if (games == 0) return "no games";
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("games=%d win=%.1f%% loss=%.1f%% timeout=%.1f%%%n",
+                games, 100.0 * wins / games, 100.0 * losses / games, 100.0 * timeouts / games));
+        if (wins > 0) {
+            sb.append(String.format("ticks-to-clear mean=%.1f min=%d max=%d%n",
+                    (double) clearTicksSum / wins, clearTicksMin, clearTicksMax));
+        }
+        sb.append(String.format("ticks/game=%.1f kills/game=%.2f barrier-wear=%.1f%%",
+                (double) totalTicks / games, (double) kills / games, 100.0 * barrierWearSum / games));
+        return sb.toString();
+    }
+}
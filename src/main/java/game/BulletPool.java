@@ -0,0 +1,80 @@
+package game;
+
+import java.util.Arrays;
+
+// 弾をまとめて持つプール（構造体の配列ではなく、項目ごとの int 配列）
+// 削除は末尾の要素を詰める swap-remove なので O(1)。生きている弾は常に [0, count) に詰まっていて、
+// 空いた末尾がそのまま次の発射で再利用される（発射・移動・削除とも new しない）
+public class BulletPool {
+
+    int[] x, y, width, height;
+    int[] speed;
+    int count = 0;
+
+    public BulletPool(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+        x = new int[capacity];
+        y = new int[capacity];
+        width = new int[capacity];
+        height = new int[capacity];
+        speed = new int[capacity];
+    }
+
+    // 追加した弾のインデックスを返す
+    public int add(int bx, int by, int w, int h, int s) {
+        if (count == x.length) grow();
+        int i = count++;
+        x[i] = bx;
+        y[i] = by;
+        width[i] = w;
+        height[i] = h;
+        speed[i] = s;
+        return i;
+    }
+
+    // i 番目を削除（末尾の弾が i に移るので、走査中は i を進めないこと）
+    public void remove(int i) {
+        int last = --count;
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            width[i] = width[last];
+            height[i] = height[last];
+            speed[i] = speed[last];
+        }
+    }
+
+    // other の中身をそのまま写す（容量が足りなければ広げる）
+    public void copyFrom(BulletPool other) {
+        while (x.length < other.count) grow();
+        int n = other.count;
+        System.arraycopy(other.x, 0, x, 0, n);
+        System.arraycopy(other.y, 0, y, 0, n);
+        System.arraycopy(other.width, 0, width, 0, n);
+        System.arraycopy(other.height, 0, height, 0, n);
+        System.arraycopy(other.speed, 0, speed, 0, n);
+        count = n;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    // 想定より弾が増えた時だけ倍に広げる（定常状態では起きない）
+    private void grow() {
+        int n = x.length * 2;
+        x = Arrays.copyOf(x, n);
+        y = Arrays.copyOf(y, n);
+        width = Arrays.copyOf(width, n);
+        height = Arrays.copyOf(height, n);
+        speed = Arrays.copyOf(speed, n);
+    }
+}
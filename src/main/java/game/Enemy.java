@@ -1,22 +0,0 @@
-import java.awt.*;
-
-public class Enemy {
-    int x, y, width, height;
-    Color color = Color.GREEN;
-
-    public Enemy(int x, int y, int w, int h) {
-        this.x = x;
-        this.y = y;
-        this.width = w;
-        this.height = h;
-    }
-
-    public void draw(Graphics2D g2) {
-        g2.setColor(color);
-        g2.fillRect(x, y, width, height);
-    }
-
-    public Rectangle getBounds() {
-        return new Rectangle(x, y, width, height);
-    }
-}
\ No newline at end of file
@@ -0,0 +1,126 @@
+package game;
+
+import java.util.Arrays;
+
+// 敵の当たり判定用の一様グリッド（空間ハッシュ）
+// 敵の座標は隊列の原点からの相対値なので、グリッドもその座標系で持ち、隊列の移動は原点をずらすだけ（O(1)）。
+// 各敵は左上が入っているセル1つにだけ登録し、問い合わせ側で最大サイズ分だけ範囲を広げて拾う。
+// セルには敵の番号（Formation の配列の添字）を入れ、座標は Formation の配列から直接読む
+public class EnemyGrid {
+
+    final int cellSize;
+    final int cols, rows;
+
+    private final int[][] cells;
+    private final int[] cellCount;
+
+    // 敵の番号ごとの登録セル（未登録は -1）
+    private final int[] cellOfEnemy;
+
+    private final int[] ex, ey, ew, eh;
+
+    // グリッド座標 (0,0) のワールド座標
+    int originX = 0, originY = 0;
+
+    // 登録済みの敵の最大サイズ（問い合わせ範囲の拡張用）
+    private int maxWidth = 0, maxHeight = 0;
+
+    // width / height は隊列の相対座標が収まる範囲
+    public EnemyGrid(int width, int height, int cellSize, Formation formation) {
+        if (cellSize <= 0) throw new IllegalArgumentException("cellSize must be > 0");
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (width + cellSize - 1) / cellSize);
+        this.rows = Math.max(1, (height + cellSize - 1) / cellSize);
+        cells = new int[cols * rows][4];
+        cellCount = new int[cols * rows];
+        ex = formation.x;
+        ey = formation.y;
+        ew = formation.width;
+        eh = formation.height;
+        cellOfEnemy = new int[ex.length];
+        Arrays.fill(cellOfEnemy, -1);
+    }
+
+    public void clear() {
+        Arrays.fill(cellCount, 0);
+        Arrays.fill(cellOfEnemy, -1);
+        originX = 0;
+        originY = 0;
+        maxWidth = 0;
+        maxHeight = 0;
+    }
+
+    public void insert(int e) {
+        int cell = cellOf(ex[e], ey[e]);
+        if (cellCount[cell] == cells[cell].length) {
+            cells[cell] = Arrays.copyOf(cells[cell], cells[cell].length * 2);
+        }
+        cells[cell][cellCount[cell]++] = e;
+        cellOfEnemy[e] = cell;
+
+        if (ew[e] > maxWidth) maxWidth = ew[e];
+        if (eh[e] > maxHeight) maxHeight = eh[e];
+    }
+
+    public void remove(int e) {
+        int cell = cellOfEnemy[e];
+        if (cell < 0) return;
+        // 詰める時も番号順を保つ（同じ生存状態なら、撃墜の順序によらず同じ敵が先に見つかる。WorldState の書き戻し用）
+        int[] list = cells[cell];
+        int n = cellCount[cell];
+        for (int i = 0; i < n; i++) {
+            if (list[i] == e) {
+                System.arraycopy(list, i + 1, list, i, n - i - 1);
+                cellCount[cell] = n - 1;
+                break;
+            }
+        }
+        cellOfEnemy[e] = -1;
+    }
+
+    public void setOrigin(int x, int y) {
+        originX = x;
+        originY = y;
+    }
+
+    // 登録済みの敵が全員 (dx, dy) 動いた
+    public void translate(int dx, int dy) {
+        originX += dx;
+        originY += dy;
+    }
+
+    // ワールド座標の矩形に重なる敵の番号を1つ返す（無ければ -1）。割り当ては行わない
+    public int queryFirst(int x, int y, int w, int h) {
+        int lx = x - originX, ly = y - originY;
+        int c0 = clampCol(Math.floorDiv(lx - maxWidth + 1, cellSize));
+        int c1 = clampCol(Math.floorDiv(lx + w - 1, cellSize));
+        int r0 = clampRow(Math.floorDiv(ly - maxHeight + 1, cellSize));
+        int r1 = clampRow(Math.floorDiv(ly + h - 1, cellSize));
+
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * cols + c;
+                int[] list = cells[cell];
+                for (int i = 0, n = cellCount[cell]; i < n; i++) {
+                    int e = list[i];
+                    if (GameWorld.overlaps(lx, ly, w, h, ex[e], ey[e], ew[e], eh[e])) {
+                        return e;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private int cellOf(int lx, int ly) {
+        return clampRow(Math.floorDiv(ly, cellSize)) * cols + clampCol(Math.floorDiv(lx, cellSize));
+    }
+
+    private int clampCol(int c) {
+        return c < 0 ? 0 : Math.min(c, cols - 1);
+    }
+
+    private int clampRow(int r) {
+        return r < 0 ? 0 : Math.min(r, rows - 1);
+    }
+}
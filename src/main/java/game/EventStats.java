@@ -0,0 +1,28 @@
+package game;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// GameEventBus の事象を種類ごとに数える（GameEventBus#start で専用スレッドから使う）
+public class EventStats implements GameEventBus.Handler {
+
+    private final AtomicLongArray counts = new AtomicLongArray(GameEventBus.TYPES.length);
+
+    @Override
+    public void onEvent(GameEventBus.Type type, int x, int y, long tick) {
+        // 書き手はこのスレッドだけなので lazySet で足りる
+        int i = type.ordinal();
+        counts.lazySet(i, counts.get(i) + 1);
+    }
+
+    public long count(GameEventBus.Type type) {
+        return counts.get(type.ordinal());
+    }
+
+    @Override
+    public String toString() {
+        return "kills=" + count(GameEventBus.Type.ENEMY_KILLED)
+                + " shots=" + count(GameEventBus.Type.SHOT_FIRED)
+                + " playerDowns=" + count(GameEventBus.Type.PLAYER_DOWN)
+                + " barrierHits=" + count(GameEventBus.Type.BARRIER_HIT);
+    }
+}
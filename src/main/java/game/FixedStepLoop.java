@@ -0,0 +1,57 @@
+package game;
+
+// 固定タイムステップ用のアキュムレータ
+// 経過時間を貯めて、stepNanos 毎に何ティック進めるかを返すだけ（スレッド・Swing 非依存）
+public class FixedStepLoop {
+
+    private final long stepNanos;
+    private final int maxStepsPerAdvance;
+
+    private long accumulator = 0;
+    private long lastTime = -1;
+
+    public FixedStepLoop(long stepNanos, int maxStepsPerAdvance) {
+        if (stepNanos <= 0) throw new IllegalArgumentException("stepNanos must be > 0");
+        if (maxStepsPerAdvance <= 0) throw new IllegalArgumentException("maxStepsPerAdvance must be > 0");
+        this.stepNanos = stepNanos;
+        this.maxStepsPerAdvance = maxStepsPerAdvance;
+    }
+
+    // 時刻 now までに進めるべきティック数
+    // 大きく止まった場合（デバッガ・GC など）は maxStepsPerAdvance で打ち切り、残りは捨てる
+    public int advance(long now) {
+        if (lastTime < 0) {
+            lastTime = now;
+            return 0;
+        }
+        accumulator += now - lastTime;
+        lastTime = now;
+
+        int steps = (int) Math.min(accumulator / stepNanos, maxStepsPerAdvance);
+        accumulator -= steps * stepNanos;
+        if (steps == maxStepsPerAdvance && accumulator >= stepNanos) {
+            accumulator %= stepNanos;
+        }
+        return steps;
+    }
+
+    // 次のティックまでの進み具合（0.0〜1.0）。描画の補間用
+    public double alpha() {
+        return (double) accumulator / stepNanos;
+    }
+
+    // まだティックに変換されていない経過時間
+    public long pendingNanos() {
+        return accumulator;
+    }
+
+    // 一時停止後などに貯まった時間を捨てる
+    public void reset() {
+        accumulator = 0;
+        lastTime = -1;
+    }
+
+    public long stepNanos() {
+        return stepNanos;
+    }
+}
@@ -0,0 +1,198 @@
+package game;
+
+import java.util.Arrays;
+
+// 敵の隊列
+// 敵は1体ずつのオブジェクトではなく、番号 i = r * cols + c で引く並列の配列（x / y / width / height / alive）で持つ。
+// 当たり判定・描画用のコピーは配列を先頭から順に読むだけで、ポインタをたどらない。
+// 敵は隊列の原点からの相対位置だけを持ち、隊列の移動は原点をずらすだけ。
+// 生存している行・列の範囲と、列ごとの「一番下の生存敵」を撃墜時に更新しておくことで、
+// 画面端の判定は O(1)、撃つ敵の選択は O(列数) で済む（敵の数に比例しない）
+public class Formation {
+
+    final int rows, cols;
+
+    // 敵 i = r * cols + c の隊列内の相対位置・大きさ（配置時に決まり、reset でも変わらない）
+    final int[] x, y, width, height;
+    final boolean[] alive;
+    final int size;
+    int aliveCount;
+
+    final EnemyGrid grid;
+
+    private final int[] colAlive, rowAlive;
+    private int aliveColumns;
+    private final int[] lowestRow;        // 列ごとの一番下の生存行（全滅なら -1）
+
+    // 列・行ごとの相対座標の範囲（配置時に決まる）
+    private final int[] colLeft, colRight, rowTop, rowBottom;
+
+    // 1ティック前の原点（描画の補間用）
+    int prevOriginX, prevOriginY;
+
+    // 生存している列・行の範囲
+    private int minCol, maxCol, minRow, maxRow;
+
+    public Formation(int rows, int cols, int hGap, int vGap, int enemyWidth, int enemyHeight) {
+        if (rows <= 0 || cols <= 0) throw new IllegalArgumentException("rows and cols must be > 0");
+        this.rows = rows;
+        this.cols = cols;
+        size = rows * cols;
+        x = new int[size];
+        y = new int[size];
+        width = new int[size];
+        height = new int[size];
+        alive = new boolean[size];
+        colAlive = new int[cols];
+        rowAlive = new int[rows];
+        lowestRow = new int[cols];
+        colLeft = new int[cols];
+        colRight = new int[cols];
+        rowTop = new int[rows];
+        rowBottom = new int[rows];
+
+        int spanWidth = (cols - 1) * hGap + enemyWidth;
+        int spanHeight = (rows - 1) * vGap + enemyHeight;
+        grid = new EnemyGrid(spanWidth, spanHeight, Math.max(64, Math.max(hGap, vGap)), this);
+
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int i = r * cols + c;
+                x[i] = c * hGap;
+                y[i] = r * vGap;
+                width[i] = enemyWidth;
+                height[i] = enemyHeight;
+            }
+        }
+        for (int c = 0; c < cols; c++) {
+            colLeft[c] = c * hGap;
+            colRight[c] = c * hGap + enemyWidth;
+        }
+        for (int r = 0; r < rows; r++) {
+            rowTop[r] = r * vGap;
+            rowBottom[r] = r * vGap + enemyHeight;
+        }
+    }
+
+    // 全員復活させて (x, y) に置く
+    public void reset(int x, int y) {
+        grid.clear();
+        grid.setOrigin(x, y);
+        prevOriginX = x;
+        prevOriginY = y;
+        Arrays.fill(alive, true);
+        for (int i = 0; i < size; i++) {
+            grid.insert(i);
+        }
+        Arrays.fill(colAlive, rows);
+        Arrays.fill(rowAlive, cols);
+        Arrays.fill(lowestRow, rows - 1);
+        aliveColumns = cols;
+        aliveCount = size;
+        minCol = 0;
+        maxCol = cols - 1;
+        minRow = 0;
+        maxRow = rows - 1;
+    }
+
+    public boolean isEmpty() {
+        return aliveCount == 0;
+    }
+
+    // ティック開始時に現在の原点を「1ティック前」として覚える
+    public void savePrevious() {
+        prevOriginX = grid.originX;
+        prevOriginY = grid.originY;
+    }
+
+    public void move(int dx, int dy) {
+        grid.translate(dx, dy);
+    }
+
+    public int originX() {
+        return grid.originX;
+    }
+
+    public int originY() {
+        return grid.originY;
+    }
+
+    public int worldX(int i) {
+        return grid.originX + x[i];
+    }
+
+    public int worldY(int i) {
+        return grid.originY + y[i];
+    }
+
+    // 生存している敵全体の外接矩形（ワールド座標）
+    public int left() {
+        return grid.originX + colLeft[minCol];
+    }
+
+    public int right() {
+        return grid.originX + colRight[maxCol];
+    }
+
+    public int top() {
+        return grid.originY + rowTop[minRow];
+    }
+
+    public int bottom() {
+        return grid.originY + rowBottom[maxRow];
+    }
+
+    // ワールド座標の矩形に重なる生存敵の番号（無ければ -1）
+    public int hitTest(int x, int y, int w, int h) {
+        if (aliveCount == 0) return -1;
+        if (!GameWorld.overlaps(x, y, w, h, left(), top(), right() - left(), bottom() - top())) return -1;
+        return grid.queryFirst(x, y, w, h);
+    }
+
+    public void kill(int i) {
+        if (!alive[i]) return;
+        int r = i / cols, c = i % cols;
+
+        alive[i] = false;
+        grid.remove(i);
+        aliveCount--;
+        if (--colAlive[c] == 0) aliveColumns--;
+        rowAlive[r]--;
+
+        if (lowestRow[c] == r) {
+            int lr = r - 1;
+            while (lr >= 0 && !alive[lr * cols + c]) lr--;
+            lowestRow[c] = lr;
+        }
+
+        if (aliveCount == 0) return;
+        while (colAlive[minCol] == 0) minCol++;
+        while (colAlive[maxCol] == 0) maxCol--;
+        while (rowAlive[minRow] == 0) minRow++;
+        while (rowAlive[maxRow] == 0) maxRow--;
+    }
+
+    // 列 c の一番下の生存敵の番号（全滅していれば -1）
+    public int lowest(int c) {
+        int r = lowestRow[c];
+        return r < 0 ? -1 : r * cols + c;
+    }
+
+    // 敵が1体以上残っている列の数
+    public int aliveColumns() {
+        return aliveColumns;
+    }
+
+    // 生存している列のうち pick 番目（0 始まり）の一番下の敵の番号。下に味方がいる敵は撃たない
+    public int shooter(int pick) {
+        if (pick < 0 || pick >= aliveColumns) return -1;
+
+        int n = pick;
+        for (int c = minCol; c <= maxCol; c++) {
+            if (colAlive[c] > 0 && n-- == 0) {
+                return lowestRow[c] * cols + c;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,161 @@
+package game;
+
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+// System.nanoTime で一定間隔の締め切りを刻み、そこまで待つ（描画ループ・シミュレーションのループ用）
+//
+// Thread.sleep はミリ秒単位で寝過ごすことがあるので、締め切りの spin 手前までは parkNanos で眠り、
+// 残りは Thread.onSpinWait で回す。spin する幅は実際に寝過ごした量から調整する（既定 1ms、0.2〜4ms）
+// 間隔 0 は待たない（描画の上限なし）。1周期以上遅れたら締め切りを今に合わせ直す（遅れを取り戻そうと連続で回らない）
+//
+// 呼び出しの間隔（フレーム時間）の平均・標準偏差・最小・最大と、締め切りに間に合わなかった回数を
+// 1秒ごとに Stats にまとめる。awaitNext / mark は1つのスレッドだけから呼ぶ
+public class FramePacer {
+
+    // 間隔が決まっていない（画面のリフレッシュレートと同じ間隔にする。setPeriod で後から決める）
+    // 同じ間隔のタイマーで待つだけで、画面の垂直同期（vsync）に合わせるわけではない
+    public static final long DISPLAY = -1;
+
+    private static final long MIN_SPIN_NANOS = 200_000L;
+    private static final long MAX_SPIN_NANOS = 4_000_000L;
+    private static final long STATS_NANOS = 1_000_000_000L;
+
+    // 1秒分のフレーム時間の集計
+    public static final class Stats {
+        final long frames;
+        final double meanMillis;
+        final double stdDevMillis;
+        final double minMillis;
+        final double maxMillis;
+        final long late;
+
+        Stats(long frames, double meanMillis, double stdDevMillis, double minMillis, double maxMillis, long late) {
+            this.frames = frames;
+            this.meanMillis = meanMillis;
+            this.stdDevMillis = stdDevMillis;
+            this.minMillis = minMillis;
+            this.maxMillis = maxMillis;
+            this.late = late;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "n=%d mean=%.2fms sd=%.3fms min=%.2fms max=%.2fms late=%d",
+                    frames, meanMillis, stdDevMillis, minMillis, maxMillis, late);
+        }
+    }
+
+    private volatile long periodNanos;
+    private long spinNanos = 1_000_000L;
+    private long next = -1;
+
+    // 集計中（Welford 法で平均と分散を逐次更新する）
+    private long last = -1;
+    private long windowStart = -1;
+    private long frames, late;
+    private double mean, m2;
+    private long min = Long.MAX_VALUE, max;
+
+    private volatile Stats stats;
+
+    public FramePacer(long periodNanos) {
+        this.periodNanos = periodNanos;
+    }
+
+    // -D<key>=display|uncapped|<Hz>（既定 display = リフレッシュレートの間隔）で作る。vsync は display の別名
+    public static FramePacer fromSystemProperty(String key) {
+        String value = System.getProperty(key, "display").trim();
+        if (value.equalsIgnoreCase("display") || value.equalsIgnoreCase("vsync")) return new FramePacer(DISPLAY);
+        if (value.equalsIgnoreCase("uncapped")) return new FramePacer(0);
+        try {
+            double hz = Double.parseDouble(value);
+            if (hz > 0) return new FramePacer((long) (1e9 / hz));
+        } catch (NumberFormatException e) {
+            // 下で報告する
+        }
+        System.out.println("invalid " + key + ": " + value);
+        return new FramePacer(DISPLAY);
+    }
+
+    public long periodNanos() {
+        return periodNanos;
+    }
+
+    public void setPeriod(long periodNanos) {
+        this.periodNanos = periodNanos;
+    }
+
+    // 直近1秒の集計（まだ無ければ null）
+    public Stats stats() {
+        return stats;
+    }
+
+    // 次の締め切りまで待ってから、その時刻を返す（割り込まれたら待たずに返し、割り込み状態は残す）
+    public long awaitNext() {
+        long period = periodNanos;
+        long now = System.nanoTime();
+        if (period <= 0) {
+            mark(now);
+            return now;
+        }
+        if (next < 0) next = now;
+        next += period;
+
+        if (now > next) {
+            late++;
+            if (now - next >= period) next = now;   // 1周期以上遅れた: 取り戻さずに合わせ直す
+        } else {
+            // 粗く眠る（寝過ごした量を見て spin の幅を調整する）
+            long sleepUntil = next - spinNanos;
+            while (now < sleepUntil && !Thread.currentThread().isInterrupted()) {
+                LockSupport.parkNanos(sleepUntil - now);
+                long woke = System.nanoTime();
+                adjustSpin(woke - sleepUntil);
+                now = woke;
+            }
+            // 残りは回る
+            while (now < next && !Thread.currentThread().isInterrupted()) {
+                Thread.onSpinWait();
+                now = System.nanoTime();
+            }
+        }
+        mark(now);
+        return now;
+    }
+
+    // フレームを1つ出した時刻を記録する（awaitNext を使わないループ用）
+    public void mark(long now) {
+        if (last >= 0) {
+            long interval = now - last;
+            frames++;
+            double delta = interval - mean;
+            mean += delta / frames;
+            m2 += delta * (interval - mean);
+            if (interval < min) min = interval;
+            if (interval > max) max = interval;
+        } else {
+            windowStart = now;
+        }
+        last = now;
+
+        if (now - windowStart >= STATS_NANOS && frames > 0) {
+            double sd = frames > 1 ? Math.sqrt(m2 / (frames - 1)) : 0;
+            stats = new Stats(frames, mean / 1e6, sd / 1e6, min / 1e6, max / 1e6, late);
+            windowStart = now;
+            frames = 0;
+            late = 0;
+            mean = 0;
+            m2 = 0;
+            min = Long.MAX_VALUE;
+            max = 0;
+        }
+    }
+
+    // 寝過ごした量の大きい方へすぐ寄せ、小さい方へはゆっくり戻す
+    private void adjustSpin(long overslept) {
+        long target = overslept + overslept / 4;
+        spinNanos = target > spinNanos ? target : spinNanos - (spinNanos - target) / 16;
+        spinNanos = Math.max(MIN_SPIN_NANOS, Math.min(spinNanos, MAX_SPIN_NANOS));
+    }
+}
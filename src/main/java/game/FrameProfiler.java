@@ -0,0 +1,189 @@
+package game;
+
+import java.util.Locale;
+
+// ティック・描画の各フェーズの所要時間を測る
+//
+//   long t = profiler.mark();
+//   ... 入力処理 ...
+//   t = profiler.lap(Phase.INPUT, t);
+//
+// 計測値は PhaseHistogram に積むだけ（ロック・メモリ確保なし）。集計スレッドが interval ごとに回収して
+// p50 / p99 / max を report() に出し、JFR の PhaseTimingEvent と（指定があれば）ログ行にも書く
+// 測るのは start から stop までの間だけ（それ以外の mark / lap は時刻も取らない）。OFF は何も測らない（バッチ・ベンチマーク用の既定値）
+public class FrameProfiler {
+
+    public enum Phase {
+        // シミュレーション（GameWorld#tick）
+        INPUT("tick.input"),
+        ENEMY_MOVE("tick.enemyMove"),
+        ENEMY_SHOOT("tick.enemyShoot"),
+        PLAYER_BULLETS("tick.playerBullets"),
+        ENEMY_BULLETS("tick.enemyBullets"),
+        TICK("tick.total"),
+        // 描画（GameRenderer#render）
+        BACKGROUND("render.background"),
+        BARRIERS("render.barriers"),
+        ENTITIES("render.entities"),
+        PARTICLES("render.particles"),
+        HUD("render.hud"),
+        FRAME("render.total");
+
+        final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+    }
+
+    static final Phase[] PHASES = Phase.values();
+
+    public static final FrameProfiler OFF = new FrameProfiler(false);
+
+    // 集計期間ごとの結果（集計スレッドが作り、描画側はまるごと読む）
+    public static final class Report {
+        final long[] count = new long[PHASES.length];
+        final long[] p50 = new long[PHASES.length];
+        final long[] p99 = new long[PHASES.length];
+        final long[] max = new long[PHASES.length];
+        final long periodNanos;
+
+        Report(long periodNanos) {
+            this.periodNanos = periodNanos;
+        }
+
+        // 1秒あたりの回数（TICK なら ticks/s、FRAME なら frames/s）
+        double rate(Phase phase) {
+            return periodNanos > 0 ? count[phase.ordinal()] * 1e9 / periodNanos : 0;
+        }
+
+        String line(Phase phase) {
+            int i = phase.ordinal();
+            return String.format(Locale.ROOT, "%-19s n=%-5d p50=%7.3fms p99=%7.3fms max=%7.3fms",
+                    phase.label, count[i], p50[i] / 1e6, p99[i] / 1e6, max[i] / 1e6);
+        }
+    }
+
+    private final boolean enabled;
+    private final PhaseHistogram[] histograms;
+    private volatile boolean running;
+
+    private volatile Report report;
+    private volatile Thread reporter;
+
+    public FrameProfiler() {
+        this(true);
+    }
+
+    private FrameProfiler(boolean enabled) {
+        this.enabled = enabled;
+        histograms = new PhaseHistogram[enabled ? PHASES.length : 0];
+        for (int i = 0; i < histograms.length; i++) histograms[i] = new PhaseHistogram();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 計測開始の時刻（測っていなければ 0）
+    public long mark() {
+        return running ? System.nanoTime() : 0;
+    }
+
+    // since から今までを phase として記録し、今の時刻を返す（次のフェーズの開始時刻になる）
+    // since が 0（測り始める前の mark）なら記録しない
+    public long lap(Phase phase, long since) {
+        if (!running) return 0;
+        long now = System.nanoTime();
+        if (since != 0) histograms[phase.ordinal()].record(now - since);
+        return now;
+    }
+
+    // 最新の集計結果（まだ無ければ null）
+    public Report report() {
+        return report;
+    }
+
+    // 測り始め、interval ごとに集計する。logEvery > 0 なら logEvery 回に1回ログに出す
+    public synchronized void start(long intervalMillis, int logEvery) {
+        if (!enabled || reporter != null) return;
+        report = null;
+        Thread t = new Thread(() -> reportLoop(intervalMillis, logEvery), "frame-profiler");
+        t.setDaemon(true);
+        reporter = t;
+        running = true;
+        t.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        Thread t = reporter;
+        reporter = null;
+        if (t != null) t.interrupt();
+    }
+
+    private void reportLoop(long intervalMillis, int logEvery) {
+        Thread self = Thread.currentThread();
+        long[] counts = new long[PhaseHistogram.BUCKETS];
+        collect(counts, 0);   // 前回 stop した時の残りを捨てる
+        long last = System.nanoTime();
+        int windows = 0;
+
+        while (reporter == self) {
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long now = System.nanoTime();
+            Report r = collect(counts, now - last);
+            last = now;
+            report = r;
+
+            emitEvents(r);
+            if (logEvery > 0 && ++windows % logEvery == 0) log(r);
+        }
+    }
+
+    private Report collect(long[] counts, long periodNanos) {
+        Report r = new Report(periodNanos);
+        for (int p = 0; p < PHASES.length; p++) {
+            long max = histograms[p].drainTo(counts);
+            long total = 0;
+            for (long c : counts) total += c;
+            r.count[p] = total;
+            r.p50[p] = Math.min(max, PhaseHistogram.percentile(counts, total, 0.50));
+            r.p99[p] = Math.min(max, PhaseHistogram.percentile(counts, total, 0.99));
+            r.max[p] = max;
+        }
+        return r;
+    }
+
+    private static void emitEvents(Report r) {
+        for (Phase phase : PHASES) {
+            PhaseTimingEvent event = new PhaseTimingEvent();
+            if (!event.isEnabled()) return;
+            int i = phase.ordinal();
+            event.phase = phase.label;
+            event.count = r.count[i];
+            event.p50 = r.p50[i];
+            event.p99 = r.p99[i];
+            event.max = r.max[i];
+            event.commit();
+        }
+    }
+
+    private static void log(Report r) {
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "[profile] %.1fs ticks/s=%.1f frames/s=%.1f",
+                r.periodNanos / 1e9, r.rate(Phase.TICK), r.rate(Phase.FRAME)));
+        for (Phase phase : PHASES) {
+            if (r.count[phase.ordinal()] == 0) continue;
+            sb.append(System.lineSeparator()).append("  ").append(r.line(phase));
+        }
+        System.out.println(sb);
+    }
+}
@@ -0,0 +1,208 @@
+package game;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+// GameServer につなぎ、受け取った状態を手元の GameWorld（鏡）に反映して描画用に公開する
+// 受信・送信は専用スレッドの Selector で行う。描画側は GameSimulation と同じく latest() / alpha() で読む
+// 補間は受信した2つの状態の間で行う（受信時刻からサーバーの1ティック分かけて前の状態から今の状態へ）
+public class GameClient implements SnapshotSource {
+
+    private final InetSocketAddress address;
+    private final int sessionId;
+    private final boolean wantsPilot;
+
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+    private GameWorld mirror;   // WELCOME で受け取った設定で作る（受信スレッド専用）
+    private volatile long stepNanos = GameSimulation.STEP_NANOS;   // サーバーの1ティックの長さ（WELCOME で受け取る）
+
+    private ByteBuffer in = ByteBuffer.allocateDirect(64 * 1024);
+    private final ByteBuffer out = ByteBuffer.allocateDirect(256);
+
+    // 入力・リスタート要求（キー入力のスレッドから書き、受信スレッドが送る）
+    private volatile int inputBits = 0;
+    private int sentInputBits = -1;
+    private volatile boolean resetRequested = false;
+
+    private volatile boolean pilot;
+    private volatile boolean connected;
+    private volatile long lastStateNanos;
+
+    private volatile Selector selector;
+    private volatile Thread thread;
+
+    public GameClient(String host, int port, int sessionId, boolean wantsPilot) {
+        this.address = new InetSocketAddress(host, port);
+        this.sessionId = sessionId;
+        this.wantsPilot = wantsPilot;
+    }
+
+    public void setInput(int bits) {
+        inputBits = bits;
+        wakeup();
+    }
+
+    public void requestReset() {
+        resetRequested = true;
+        wakeup();
+    }
+
+    public boolean isPilot() {
+        return pilot;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    // 最後に状態を受け取った時刻（まだなら 0）
+    public long lastStateNanos() {
+        return lastStateNanos;
+    }
+
+    @Override
+    public WorldSnapshot latest() {
+        return snapshots.latest();
+    }
+
+    @Override
+    public double alpha(WorldSnapshot snapshot, long now) {
+        if (snapshot.gameOver || snapshot.gameClear) return 1.0;
+        double a = (double) (now - snapshot.stateNanos) / stepNanos;
+        return a < 0 ? 0 : Math.min(a, 1.0);
+    }
+
+    public synchronized void start() throws IOException {
+        if (thread != null) return;
+        SocketChannel channel = SocketChannel.open(address);
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        selector = Selector.open();
+        channel.register(selector, SelectionKey.OP_READ);
+        connected = true;
+
+        int start = NetProtocol.beginFrame(out, NetProtocol.HELLO);
+        out.putInt(sessionId);
+        out.put((byte) (wantsPilot ? 1 : 0));
+        NetProtocol.endFrame(out, start);
+
+        thread = new Thread(() -> run(channel), "game-client");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        Thread t = thread;
+        thread = null;
+        if (t != null) {
+            wakeup();
+            try {
+                t.join(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void wakeup() {
+        Selector s = selector;
+        if (s != null) s.wakeup();
+    }
+
+    private void run(SocketChannel channel) {
+        Thread self = Thread.currentThread();
+        try (channel; Selector sel = selector) {
+            SelectionKey key = channel.keyFor(sel);
+            while (thread == self) {
+                queueRequests();
+                flush(key, channel);
+                sel.select(100);
+                sel.selectedKeys().clear();
+                if (key.isValid() && key.isReadable()) read(channel);
+            }
+        } catch (IOException e) {
+            System.out.println("disconnected: " + e.getMessage());
+        } finally {
+            connected = false;
+        }
+    }
+
+    private void queueRequests() {
+        if (mirror == null) return;   // WELCOME 前
+        int bits = inputBits;
+        if (bits != sentInputBits && out.remaining() >= NetProtocol.HEADER + 1) {
+            int start = NetProtocol.beginFrame(out, NetProtocol.INPUT);
+            out.put((byte) bits);
+            NetProtocol.endFrame(out, start);
+            sentInputBits = bits;
+        }
+        if (resetRequested && out.remaining() >= NetProtocol.HEADER) {
+            resetRequested = false;
+            NetProtocol.endFrame(out, NetProtocol.beginFrame(out, NetProtocol.RESET));
+        }
+    }
+
+    private void flush(SelectionKey key, SocketChannel channel) throws IOException {
+        out.flip();
+        channel.write(out);
+        boolean pending = out.hasRemaining();
+        out.compact();
+        key.interestOps(pending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    private void read(SocketChannel channel) throws IOException {
+        if (channel.read(in) < 0) throw new IOException("closed by server");
+
+        in.flip();
+        while (in.remaining() >= NetProtocol.HEADER) {
+            int length = in.getInt(in.position());
+            if (length < 1) throw new IOException("bad message length: " + length);
+            if (length + 4 > in.capacity()) {
+                // サーバーの隊列・弾が多い: 受信バッファを大きくする（この時だけ割り当てる）
+                ByteBuffer grown = ByteBuffer.allocateDirect((length + 4) * 2);
+                grown.put(in);
+                in = grown;
+                return;
+            }
+            if (in.remaining() < 4 + length) break;
+            int end = in.position() + 4 + length;
+            in.getInt();
+            handleMessage(in.get(), in);
+            in.position(end);
+        }
+        in.compact();
+    }
+
+    private void handleMessage(byte type, ByteBuffer in) throws IOException {
+        switch (type) {
+            case NetProtocol.WELCOME -> {
+                pilot = in.get() == NetProtocol.PILOT;
+                long step = in.getLong();
+                if (step <= 0) throw new IOException("invalid step: " + step);
+                stepNanos = step;
+                GameConfig config = NetProtocol.readConfig(in);
+                try {
+                    mirror = new GameWorld(config);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("invalid config from server: " + e.getMessage(), e);
+                }
+                System.out.println("joined session " + sessionId + " as " + (pilot ? "pilot" : "spectator")
+                        + " config: " + config);
+            }
+            case NetProtocol.FULL, NetProtocol.DELTA -> {
+                if (mirror == null) throw new IOException("state before welcome");
+                boolean full = type == NetProtocol.FULL;
+                if (!full && mirror.player == null) return;   // FULL を待つ
+                SnapshotCodec.apply(in, full, mirror);
+                long now = System.nanoTime();
+                lastStateNanos = now;
+                snapshots.publish(mirror, now);
+            }
+            default -> throw new IOException("unknown message type: " + type);
+        }
+    }
+}
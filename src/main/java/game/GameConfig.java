@@ -0,0 +1,178 @@
+package game;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+// ゲームの調整値（既定値は通常プレイと同じ）
+// コマンドライン（--name=value / --name value）やプロパティファイルから上書きできる
+public class GameConfig {
+
+    int enemyRows = 4;
+    int enemyCols = 10;
+    int enemyDx = 2;              // 敵の横移動量（ピクセル/ティック）
+    int enemyStepDown = 10;       // 端で折り返す時に下がる量
+    int shotInterval = 13;        // 自機の連射間隔（ティック）
+    int enemyShotInterval = 50;   // 敵の発射間隔（ティック）
+    int enemyVolley = 1;          // 敵が1回に撃つ弾の数（別々の列から）
+    int playerVolley = 1;         // 自機が1回に撃つ弾の数（横に並べる）
+    int barrierCount = 4;         // 盾の数（1段に8枚まで。それ以上は上に段を重ねる。上限は maxBarriers()）
+
+    // 隊列と盾の初期配置（GameWorld#reset と共通）
+    static final int FORMATION_X = 100;
+    static final int FORMATION_Y = 60;                         // 隊列の上端
+    static final int BARRIERS_PER_ROW = 8;
+    static final int BARRIER_BASE_Y = GameWorld.HEIGHT - 180;  // 一番下の段の上端
+    static final int BARRIER_ROW_GAP = 60;                     // 段の間隔（上に重ねる）
+
+    // 負荷試験用のプリセット（--stress）。大量の敵・盾と、毎ティックの弾幕
+    public static GameConfig stress() {
+        GameConfig c = new GameConfig();
+        c.enemyRows = 40;
+        c.enemyCols = 100;
+        c.enemyDx = 1;
+        c.enemyStepDown = 2;
+        c.shotInterval = 1;
+        c.enemyShotInterval = 1;
+        c.enemyVolley = 8;
+        c.playerVolley = 5;
+        c.barrierCount = 24;   // 3段（40 行の隊列の下端 y=297 より下に収まる分）
+        return c;
+    }
+
+    // 起動引数から作る: 既定値（--stress ならプリセット）→ --config のプロパティファイル → 個別の引数 の順に上書き
+    public static GameConfig fromArgs(Properties args) throws IOException {
+        GameConfig c = Boolean.parseBoolean(args.getProperty("stress", "false")) ? stress() : new GameConfig();
+        String file = args.getProperty("config");
+        if (file != null) {
+            Properties p = new Properties();
+            try (Reader in = Files.newBufferedReader(Path.of(file))) {
+                p.load(in);
+            }
+            c.apply(p);
+        }
+        return c.apply(args);
+    }
+
+    public GameConfig copy() {
+        GameConfig c = new GameConfig();
+        c.apply(toProperties());
+        return c;
+    }
+
+    // 知っているキーだけ上書きする（値が数値でなければ IllegalArgumentException）
+    public GameConfig apply(Properties p) {
+        enemyRows = intValue(p, "enemyRows", enemyRows, 1);
+        enemyCols = intValue(p, "enemyCols", enemyCols, 1);
+        enemyDx = intValue(p, "enemyDx", enemyDx, 1);
+        enemyStepDown = intValue(p, "enemyStepDown", enemyStepDown, 0);
+        shotInterval = intValue(p, "shotInterval", shotInterval, 1);
+        enemyShotInterval = intValue(p, "enemyShotInterval", enemyShotInterval, 1);
+        enemyVolley = intValue(p, "enemyVolley", enemyVolley, 1);
+        playerVolley = intValue(p, "playerVolley", playerVolley, 1);
+        barrierCount = intValue(p, "barrierCount", barrierCount, 0);
+        validate();
+        return this;
+    }
+
+    // 組み合わせの確認（盾が敵の初期位置に重ならないこと）。おかしければ IllegalArgumentException
+    public void validate() {
+        if (enemyRows < 1 || enemyCols < 1) {
+            throw new IllegalArgumentException("enemyRows and enemyCols must be >= 1: " + enemyRows + "x" + enemyCols);
+        }
+        int max = maxBarriers();
+        if (barrierCount < 0 || barrierCount > max) {
+            throw new IllegalArgumentException("barrierCount must be between 0 and " + max
+                    + " for a " + enemyRows + "-row formation (bottom y=" + formationBottom() + "): " + barrierCount);
+        }
+    }
+
+    // ===== 隊列の大きさ（画面に収まるよう間隔と大きさを詰める。4×10 は従来どおり）=====
+
+    int enemyHGap() {
+        return Math.max(1, Math.min(50, 600 / enemyCols));
+    }
+
+    int enemyVGap() {
+        return Math.max(1, Math.min(40, 240 / enemyRows));
+    }
+
+    int enemyWidth() {
+        return Math.max(2, Math.min(30, Math.min(50, 600 / enemyCols) * 3 / 5));
+    }
+
+    int enemyHeight() {
+        return Math.max(2, Math.min(20, Math.min(40, 240 / enemyRows) / 2));
+    }
+
+    // 隊列の初期位置での下端
+    int formationBottom() {
+        return FORMATION_Y + (enemyRows - 1) * enemyVGap() + enemyHeight();
+    }
+
+    // 隊列の初期位置に重ならずに置ける盾の数（段の上端が隊列の下端より下にある段だけ使う）
+    int maxBarriers() {
+        int free = BARRIER_BASE_Y - formationBottom();
+        return free < 0 ? 0 : (free / BARRIER_ROW_GAP + 1) * BARRIERS_PER_ROW;
+    }
+
+    public Properties toProperties() {
+        Properties p = new Properties();
+        p.setProperty("enemyRows", Integer.toString(enemyRows));
+        p.setProperty("enemyCols", Integer.toString(enemyCols));
+        p.setProperty("enemyDx", Integer.toString(enemyDx));
+        p.setProperty("enemyStepDown", Integer.toString(enemyStepDown));
+        p.setProperty("shotInterval", Integer.toString(shotInterval));
+        p.setProperty("enemyShotInterval", Integer.toString(enemyShotInterval));
+        p.setProperty("enemyVolley", Integer.toString(enemyVolley));
+        p.setProperty("playerVolley", Integer.toString(playerVolley));
+        p.setProperty("barrierCount", Integer.toString(barrierCount));
+        return p;
+    }
+
+    // --name=value / --name value / --flag（値なしは "true"）をプロパティにする
+    public static Properties parseArgs(String[] args) {
+        Properties p = new Properties();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("unexpected argument: " + arg);
+            String name = arg.substring(2);
+            int eq = name.indexOf('=');
+            if (eq >= 0) {
+                p.setProperty(name.substring(0, eq), name.substring(eq + 1));
+            } else if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                p.setProperty(name, args[++i]);
+            } else {
+                p.setProperty(name, "true");
+            }
+        }
+        return p;
+    }
+
+    static int intValue(Properties p, String key, int current, int min) {
+        String value = p.getProperty(key);
+        if (value == null) return current;
+        int v;
+        try {
+            v = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be an integer: " + value);
+        }
+        if (v < min) throw new IllegalArgumentException(key + " must be >= " + min + ": " + v);
+        return v;
+    }
+
+    @Override
+    public String toString() {
+        return "enemies=" + enemyRows + "x" + enemyCols
+                + " enemyDx=" + enemyDx
+                + " enemyStepDown=" + enemyStepDown
+                + " shotInterval=" + shotInterval
+                + " enemyShotInterval=" + enemyShotInterval
+                + " enemyVolley=" + enemyVolley
+                + " playerVolley=" + playerVolley
+                + " barrierCount=" + barrierCount;
+    }
+}
@@ -0,0 +1,208 @@
+package game;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// シミュレーションから効果音・パーティクル・集計などへ事象を流すリングバッファ（書き手1スレッド・読み手は複数）
+//
+// 書き手は固定長の配列に事象を書いて公開位置を進めるだけ（待たない・ロックしない・割り当てない）。
+// 読み手（Subscriber）はそれぞれ自分の読み位置を持ち、全員が全部の事象を順番どおりに受け取る。
+// 一番遅い読み手に1周追いついたら、その事象は捨てて dropped() に数える（ゲームの方は止めない）
+// 見た目だけの読み手（パーティクルなど）は subscribeLossy で作る。書き手はこの読み手を待たず、
+// 遅れた読み手の方が古い事象を読み飛ばす（描画が止まっている間に効果音などの事象まで捨てられないように）
+//
+// GameWorld へは attach() で Listener として差し込むので、GameWorld 側は今までどおり通知を呼ぶだけ
+public class GameEventBus {
+
+    public enum Type {
+        ENEMY_KILLED,   // 敵を撃墜（敵の中心）
+        SHOT_FIRED,     // 敵が弾を撃った（座標なし）
+        PLAYER_DOWN,    // 自機撃墜（自機の中心）
+        BARRIER_HIT     // 弾が盾を削った（当たった位置）
+    }
+
+    static final Type[] TYPES = Type.values();
+
+    // 読み手側の処理（読み手のスレッドで呼ばれる）
+    public interface Handler {
+        void onEvent(Type type, int x, int y, long tick);
+    }
+
+    // 読むものが無い時に読み手のスレッドが眠る時間
+    private static final long IDLE_NANOS = 1_000_000L;
+
+    private final int mask;
+    private final byte[] type;
+    private final int[] x, y;
+    private final long[] tick;
+
+    // ここまでの事象（番号 < published）が読める。書き手だけが進める
+    private final AtomicLong published = new AtomicLong();
+
+    // 書き手専用: 次に書く番号と、前回調べた一番遅い読み手の位置
+    private long next = 0;
+    private long slowest = 0;
+    private volatile long dropped = 0;
+
+    private volatile Subscriber[] subscribers = new Subscriber[0];
+
+    public GameEventBus(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        mask = capacity - 1;
+        type = new byte[capacity];
+        x = new int[capacity];
+        y = new int[capacity];
+        tick = new long[capacity];
+    }
+
+    // world の通知をこのバスに流す（tick は world の現在のティック）
+    public void attach(GameWorld world) {
+        world.setListener(new GameWorld.Listener() {
+            @Override
+            public void enemyKilled(int x, int y) {
+                publish(Type.ENEMY_KILLED, x, y, world.tick);
+            }
+
+            @Override
+            public void enemyShot() {
+                publish(Type.SHOT_FIRED, 0, 0, world.tick);
+            }
+
+            @Override
+            public void barrierHit(int x, int y) {
+                publish(Type.BARRIER_HIT, x, y, world.tick);
+            }
+
+            @Override
+            public void playerDown(int x, int y) {
+                publish(Type.PLAYER_DOWN, x, y, world.tick);
+            }
+        });
+    }
+
+    // 事象を1つ書く（書き手のスレッドだけ）。読み手の誰かが1周遅れていたら捨てて false
+    public boolean publish(Type t, int px, int py, long at) {
+        long seq = next;
+        if (seq - slowest >= type.length) {
+            slowest = slowestPosition(seq);
+            if (seq - slowest >= type.length) {
+                dropped++;
+                return false;
+            }
+        }
+        int i = (int) seq & mask;
+        type[i] = (byte) t.ordinal();
+        x[i] = px;
+        y[i] = py;
+        tick[i] = at;
+        next = seq + 1;
+        published.lazySet(seq + 1);   // 上の書き込みが見えてから公開される
+        return true;
+    }
+
+    // 捨てた事象の数
+    public long dropped() {
+        return dropped;
+    }
+
+    // 読み手を追加する（これ以降に書かれた事象から受け取る）
+    public Subscriber subscribe() {
+        return add(false);
+    }
+
+    // 取りこぼしてよい読み手を追加する（書き手を待たせず、半周以上遅れたら古い事象を読み飛ばす）
+    public Subscriber subscribeLossy() {
+        return add(true);
+    }
+
+    private synchronized Subscriber add(boolean lossy) {
+        Subscriber s = new Subscriber(published.get(), lossy);
+        Subscriber[] list = Arrays.copyOf(subscribers, subscribers.length + 1);
+        list[list.length - 1] = s;
+        subscribers = list;
+        return s;
+    }
+
+    // 読み手を外す（外した読み手の分は書き手を待たせない）
+    public synchronized void unsubscribe(Subscriber s) {
+        Subscriber[] list = subscribers;
+        for (int i = 0; i < list.length; i++) {
+            if (list[i] == s) {
+                Subscriber[] rest = new Subscriber[list.length - 1];
+                System.arraycopy(list, 0, rest, 0, i);
+                System.arraycopy(list, i + 1, rest, i, list.length - i - 1);
+                subscribers = rest;
+                return;
+            }
+        }
+    }
+
+    // 専用スレッドで handler を回す読み手を作る（スレッドを interrupt すると止まって読み手から外れる）
+    public Thread start(String name, Handler handler) {
+        Subscriber s = subscribe();
+        Thread t = new Thread(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    if (s.poll(handler) == 0) LockSupport.parkNanos(IDLE_NANOS);
+                }
+                s.poll(handler);   // 止める前に書かれた分まで渡す
+            } finally {
+                unsubscribe(s);
+            }
+        }, name);
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    private long slowestPosition(long limit) {
+        long min = limit;
+        for (Subscriber s : subscribers) {
+            if (!s.lossy) min = Math.min(min, s.read.get());
+        }
+        return min;
+    }
+
+    // 読み手1つ分の読み位置（poll は1つのスレッドだけから呼ぶ）
+    public final class Subscriber {
+        private final AtomicLong read;
+        private final boolean lossy;
+        private long skipped = 0;
+
+        private Subscriber(long start, boolean lossy) {
+            read = new AtomicLong(start);
+            this.lossy = lossy;
+        }
+
+        // 溜まっている事象を順に handler に渡し、渡した数を返す
+        // lossy なら直近の半周分だけ渡す（それでも読んでいる間に書き手が追いつくと、後の事象の値が混ざることがある）
+        public int poll(Handler handler) {
+            long from = read.get();
+            long to = published.get();
+            long window = (mask + 1) / 2;
+            if (lossy && to - from > window) {
+                skipped += to - window - from;
+                from = to - window;
+            }
+            for (long seq = from; seq < to; seq++) {
+                int i = (int) seq & mask;
+                handler.onEvent(TYPES[type[i]], x[i], y[i], tick[i]);
+            }
+            if (to != from) read.lazySet(to);   // 読み終えたスロットを書き手に返す
+            return (int) (to - from);
+        }
+
+        // まだ読んでいない事象の数
+        public long pending() {
+            return published.get() - read.get();
+        }
+
+        // 遅れて読み飛ばした事象の数（lossy の読み手だけ。poll と同じスレッドから読む）
+        public long skipped() {
+            return skipped;
+        }
+    }
+}
@@ -1,79 +1,123 @@
+package game;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 
-import javax.sound.sampled.*;
 import java.io.IOException;
-import java.net.URL;
-
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 
 public class GamePanel extends JPanel implements ActionListener, KeyListener {
 
-    public static final int WIDTH = 800;
-    public static final int HEIGHT = 600;
+    public static final int WIDTH = GameWorld.WIDTH;
+    public static final int HEIGHT = GameWorld.HEIGHT;
+
+    // ===== ゲーム本体（Swing 非依存）=====
+    private final GameSimulation simulation;
+    private final GameRenderer renderer = new GameRenderer();
+
+    // フェーズごとの所要時間（F3 で画面に表示している間だけ測る。-Dinvaders.profile=true・--stress・
+    // -Dinvaders.profile.log=<秒>（定期的にログにも出す）の時は最初から最後まで測る）
+    private final FrameProfiler profiler = new FrameProfiler();
+    private int profileLogEvery;
+    private boolean profileAlways;
+
+    // シミュレーションからの事象（撃墜・発射・盾の被弾・自機撃墜）
+    private final GameEventBus events = new GameEventBus(4096);
 
-    private Player player;
-    private List<Enemy> enemies = new ArrayList<>();
-    private List<Bullet> bullets = new ArrayList<>();       // 自機の弾
-    private List<Bullet> enemyBullets = new ArrayList<>();  // 敵の弾
-    private List<Barrier> barriers = new ArrayList<>();     // 盾
+    // 重い時は描画の品質を下げる（-Dinvaders.quality / -Dinvaders.frameBudget で変更できる）
+    private final QualityGovernor governor = QualityGovernor.fromSystemProperties();
 
-    private int enemyDx = 2;
-    private int enemyStepDown = 10;
+    // 描画の間隔とフレーム時間のばらつき（-Dinvaders.fps=display|uncapped|<Hz>。Swing 描画では測るだけ）
+    private final FramePacer pacer = FramePacer.fromSystemProperty("invaders.fps");
 
+    // 能動描画（BufferStrategy + 描画スレッド）。null なら従来の Timer + repaint() で描く
+    private ActiveCanvas activeCanvas;
     private Timer timer;
 
     private boolean leftPressed = false;
     private boolean rightPressed = false;
     private boolean spacePressed = false;
 
-    private boolean gameOver = false;
-    private boolean gameClear = false;
-
-    // START画面
-    private boolean showStartScreen = true;
+    // START画面（描画スレッドからも読む）
+    private volatile boolean showStartScreen = true;
     private JButton startButton;
 
-    // 自機の連射制限
-    private long lastShotTime = 0;
-    private long shotInterval = 200;
-
-    // 敵の弾
-    private long lastEnemyShotTime = 0;
-    private long enemyShotInterval = 800;
-
-    // ===== 背景画像（プレイ画面用）=====
-    private BufferedImage playBackground;
-
-    // ===== 効果音 =====
-    private Clip explosionClip;      // 敵撃墜
-    private Clip enemyLaserClip;     // 敵レーザー発射
-    private Clip playerDownClip;     // 自機撃墜
-    private Clip startClip;          // START押下
+    // ===== 効果音 =====（番号は読み込みスレッドから書かれる）
+    private final SoundMixer mixer = new SoundMixer();
+    private volatile int explosionSound = -1;      // 敵撃墜
+    private volatile int enemyLaserSound = -1;     // 敵レーザー発射
+    private volatile int playerDownSound = -1;     // 自機撃墜
+    private volatile int startSound = -1;          // START押下
 
-    // 自機撃墜SEを1回だけ鳴らすため
-    private boolean playerDownPlayed = false;
+    // ===== 画像・効果音の読み込み =====
+    private final AssetManager assets = new AssetManager();
+    private CompletableFuture<Void> assetsLoaded;
 
     public GamePanel() {
+        this(new GameConfig(), false);
+    }
+
+    // stress: 負荷試験モード（計測結果を最初から表示し、毎秒ログに出す）
+    public GamePanel(GameConfig config, boolean stress) {
+        simulation = new GameSimulation(config, sessionSeed(), GameSimulation.stepNanosFromSystemProperty());
         setPreferredSize(new Dimension(WIDTH, HEIGHT));
         setBackground(Color.BLACK);
         setFocusable(true);
         setLayout(null);
         addKeyListener(this);
 
-        // ★背景画像読み込み（プレイ画面）
-        loadPlayBackground();
+        // ロジック側からの通知はバスに流し、効果音は専用スレッド・パーティクルは描画スレッドで受け取る
+        // 描画は最小化中などに止まるので、パーティクルは取りこぼしてよい読み手にする（効果音の事象を捨てさせない）
+        events.attach(simulation.world);
+        renderer.setEvents(events.subscribeLossy());
+        events.start("game-events-sound", (type, x, y, tick) -> {
+            switch (type) {
+                case ENEMY_KILLED -> playExplosionSound();
+                case SHOT_FIRED -> playEnemyLaserSound();
+                case PLAYER_DOWN -> playPlayerDownSound();
+                default -> {
+                }
+            }
+        });
+
+        // -Dinvaders.threads=<n> で弾の移動と当たり判定を並列に（弾が多い時だけ。結果は逐次と同じ）
+        simulation.world.setParallel(ParallelPhases.ofThreads(Integer.getInteger("invaders.threads", 1),
+                Integer.getInteger("invaders.parallelThreshold", ParallelPhases.DEFAULT_THRESHOLD)));
+
+        // 計測（1秒ごとに集計）
+        simulation.world.setProfiler(profiler);
+        renderer.setProfiler(profiler);
+        simulation.setGovernor(governor);
+        renderer.setGovernor(governor);
+        renderer.setPacer(pacer);
+        profileLogEvery = stress ? 1 : Integer.getInteger("invaders.profile.log", 0);
+        profileAlways = stress || profileLogEvery > 0 || Boolean.getBoolean("invaders.profile");
+        if (profileAlways) profiler.start(1000, profileLogEvery);
+        if (stress) {
+            renderer.toggleOverlay();
+            System.out.println("stress mode: " + config);
+
+            // 事象の数を別スレッドで数え、終了時に出す
+            EventStats stats = new EventStats();
+            events.start("game-events-stats", stats);
+            Runtime.getRuntime().addShutdownHook(new Thread(
+                    () -> System.out.println("[events] " + stats + " dropped=" + events.dropped()), "event-stats"));
+        }
 
-        // 効果音読み込み
-        loadExplosionSound();
-        loadEnemyLaserSound();
-        loadPlayerDownSound();
-        loadStartSound();
+        // -Dinvaders.record=<ファイル> で入力を記録（ReplayRunner で再生できる）
+        startRecording();
+
+        // ★背景画像・効果音は裏で並列に読み込み、START画面はすぐに出す
+        renderer.setFirstFrameListener(assets::firstFrame);
+        assetsLoaded = assets.whenAllLoaded(
+                assets.image("/image/background.png").thenAccept(renderer::setPlayBackground),
+                assets.sound("/sound/explosion.wav", mixer).thenAccept(id -> explosionSound = id),
+                assets.sound("/sound/enemy_laser.wav", mixer).thenAccept(id -> enemyLaserSound = id),
+                assets.sound("/sound/player_down.wav", mixer).thenAccept(id -> playerDownSound = id),
+                assets.sound("/sound/start.wav", mixer).thenAccept(id -> startSound = id));
+        mixer.start();
 
         // STARTボタン
         startButton = new JButton("START");
@@ -87,330 +131,121 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
         startButton.addActionListener(e -> startGameFromStartScreen());
         add(startButton);
 
-        timer = new Timer(16, this);
-        timer.start();
+        // 読み込みが終わるまで開始できない
+        startButton.setEnabled(false);
+        assetsLoaded.thenRun(() -> SwingUtilities.invokeLater(() -> startButton.setEnabled(true)));
+
+        // 描画方式: -Dinvaders.render=swing で従来の repaint() 方式
+        if ("swing".equalsIgnoreCase(System.getProperty("invaders.render", "active"))) {
+            timer = new Timer(16, this);
+            timer.start();
+        } else {
+            activeCanvas = new ActiveCanvas(simulation, renderer, () -> showStartScreen, 3, pacer);
+            activeCanvas.setBounds(0, 0, WIDTH, HEIGHT);
+            activeCanvas.addKeyListener(this);
+            add(activeCanvas);   // STARTボタンより後ろ（奥）に置く
+            simulation.start();
+        }
 
         // ★起動直後からキー入力を受け取りやすくする
-        requestFocusInWindow();
+        requestInputFocus();
     }
 
-    // ★プレイ画面背景の読み込み
-    private void loadPlayBackground() {
-        try {
-            URL url = getClass().getResource("/image/background.png");
-            if (url == null) {
-                System.out.println("background.png not found: /image/background.png");
-                playBackground = null;
-                return;
+    // -Dinvaders.seed=<数値> で毎回同じ展開にできる
+    private static long sessionSeed() {
+        String seed = System.getProperty("invaders.seed");
+        if (seed != null) {
+            try {
+                return Long.parseLong(seed.trim());
+            } catch (NumberFormatException e) {
+                System.out.println("invalid invaders.seed: " + seed);
             }
-            playBackground = ImageIO.read(url);
+        }
+        return System.nanoTime();
+    }
+
+    private void startRecording() {
+        String path = System.getProperty("invaders.record");
+        if (path == null || path.isBlank()) return;
+        try {
+            InputRecorder recorder = new InputRecorder(Path.of(path.trim()), simulation.world.config, simulation.stepNanos());
+            simulation.setRecorder(recorder);
+            // 終了時に残りを書き出す
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    recorder.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }, "input-recorder-close"));
+            System.out.println("recording input to " + path);
         } catch (IOException e) {
             e.printStackTrace();
-            playBackground = null;
+        }
+    }
+
+    // 計測結果の表示を切り替える。常に測る設定でなければ、表示している間だけ測る
+    private void toggleProfileOverlay() {
+        boolean visible = renderer.toggleOverlay();
+        if (profileAlways) return;
+        if (visible) {
+            profiler.start(1000, profileLogEvery);
+        } else {
+            profiler.stop();
+        }
+    }
+
+    private void requestInputFocus() {
+        if (activeCanvas != null) {
+            activeCanvas.requestFocusInWindow();
+        } else {
+            requestFocusInWindow();
         }
     }
 
     // ★START画面からゲーム開始（STARTボタン / Sキー 共通）
     private void startGameFromStartScreen() {
-        if (!showStartScreen) return;
+        if (!showStartScreen || !assetsLoaded.isDone()) return;
 
         // START押下SE（Sキー開始でも鳴らす）
         playStartSound();
 
         showStartScreen = false;
         remove(startButton);
-        initGame();
-        requestFocusInWindow();
-    }
-
-    private void initGame() {
-        player = new Player(WIDTH / 2 - 20, HEIGHT - 80, 40, 20);
-
-        // 敵配置
-        enemies.clear();
-        int rows = 4;
-        int cols = 10;
-        int startX = 100;
-        int startY = 60;
-        int hGap = 50;
-        int vGap = 40;
-
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                enemies.add(new Enemy(startX + c * hGap, startY + r * vGap, 30, 20));
-            }
-        }
-
-        bullets.clear();
-        enemyBullets.clear();
-
-        // 盾配置
-        barriers.clear();
-        int baseY = HEIGHT - 180;
-        int spacing = 150;
-        int barrierStartX = 100;
-        for (int i = 0; i < 4; i++) {
-            barriers.add(new Barrier(barrierStartX + i * spacing, baseY));
-        }
-
-        enemyDx = 2;
-        gameOver = false;
-        gameClear = false;
-
-        // ★自機撃墜SEフラグをリセット
-        playerDownPlayed = false;
+        repaint();
+        simulation.requestReset();
+        requestInputFocus();
     }
 
+    // Swing 描画時のみ: EDT 上でシミュレーションを進めて再描画
     @Override
     public void actionPerformed(ActionEvent e) {
-        if (!showStartScreen && !gameOver && !gameClear) {
-            updateGame();
-        }
+        simulation.update(System.nanoTime());
         repaint();
     }
 
-    private void updateGame() {
-
-        // 自機移動
-        if (leftPressed && !rightPressed) player.move(-5, WIDTH);
-        if (rightPressed && !leftPressed) player.move(5, WIDTH);
-
-        // 自機弾発射
-        if (spacePressed) shootBullet();
-
-        // 敵の移動
-        boolean needReverse = false;
-        for (Enemy enemy : enemies) {
-            enemy.x += enemyDx;
-            if (enemy.x < 20 || enemy.x + enemy.width > WIDTH - 20) {
-                needReverse = true;
-            }
-        }
-
-        if (needReverse) {
-            enemyDx = -enemyDx;
-            for (Enemy enemy : enemies) {
-                enemy.y += enemyStepDown;
-                if (enemy.y + enemy.height >= HEIGHT - 100) {
-                    setGameOver(); // ★ここで統一
-                }
-            }
-        }
-
-        // 敵の弾発射
-        enemyShoot();
-
-        // 自機弾の移動 & 盾との判定 & 敵との判定
-        Iterator<Bullet> bulletIt = bullets.iterator();
-        while (bulletIt.hasNext()) {
-            Bullet b = bulletIt.next();
-            b.y -= b.speed;
-
-            // 盾との衝突
-            boolean hitBarrier = false;
-            for (Barrier barrier : barriers) {
-                if (barrier.hit(b.x, b.y)) {
-                    hitBarrier = true;
-                    break;
-                }
-            }
-            if (hitBarrier) {
-                bulletIt.remove();
-                continue;
-            }
-
-            // 画面外
-            if (b.y < 0) {
-                bulletIt.remove();
-                continue;
-            }
-
-            // 敵との衝突判定
-            boolean hitEnemy = false;
-            Iterator<Enemy> enemyIt = enemies.iterator();
-            while (enemyIt.hasNext()) {
-                Enemy enemy = enemyIt.next();
-                if (b.getBounds().intersects(enemy.getBounds())) {
-                    // ★敵撃墜SE
-                    playExplosionSound();
-
-                    enemyIt.remove();
-                    hitEnemy = true;
-                    break;
-                }
-            }
-            if (hitEnemy) {
-                bulletIt.remove();
-            }
-        }
-
-        // 敵弾の移動 & 盾との判定 & 自機との判定
-        Iterator<Bullet> ebIt = enemyBullets.iterator();
-        while (ebIt.hasNext()) {
-            Bullet b = ebIt.next();
-            // enemy bullet: speed が負なので下に進む
-            b.y -= b.speed;
-
-            // 盾との衝突
-            boolean hitBarrier = false;
-            for (Barrier barrier : barriers) {
-                if (barrier.hit(b.x, b.y)) {
-                    hitBarrier = true;
-                    break;
-                }
-            }
-            if (hitBarrier) {
-                ebIt.remove();
-                continue;
-            }
-
-            // 自機との衝突
-            if (player.getBounds().intersects(b.getBounds())) {
-                setGameOver(); // ★ここで統一
-                ebIt.remove();
-                continue;
-            }
-
-            // 画面外
-            if (b.y > HEIGHT) {
-                ebIt.remove();
-            }
-        }
-
-        // 敵 vs 自機
-        for (Enemy enemy : enemies) {
-            if (enemy.getBounds().intersects(player.getBounds())) {
-                setGameOver(); // ★ここで統一
-                break;
-            }
-        }
-
-        // 全部倒したらクリア
-        if (enemies.isEmpty()) {
-            gameClear = true;
-        }
-    }
-
-    // ★ゲームオーバー処理をまとめる（構成を壊さない最小追加）
-    private void setGameOver() {
-        if (!gameOver) {
-            gameOver = true;
-
-            // ★自機撃墜SE（1回だけ）
-            if (!playerDownPlayed) {
-                playPlayerDownSound();
-                playerDownPlayed = true;
-            }
-        }
-    }
-
-    private void shootBullet() {
-        long now = System.currentTimeMillis();
-        if (now - lastShotTime < shotInterval) return;
-        lastShotTime = now;
-
-        bullets.add(new Bullet(
-                player.x + player.width / 2 - 2,
-                player.y,
-                4, 10, 8
-        ));
-    }
-
-    private void enemyShoot() {
-        if (enemies.isEmpty()) return;
-
-        long now = System.currentTimeMillis();
-        if (now - lastEnemyShotTime < enemyShotInterval) return;
-        lastEnemyShotTime = now;
-
-        Enemy shooter = enemies.get((int) (Math.random() * enemies.size()));
-
-        enemyBullets.add(new Bullet(
-                shooter.x + shooter.width / 2 - 2,
-                shooter.y + shooter.height,
-                4, 10, -6   // マイナスで下方向
-        ));
-
-        // ★敵レーザー発射SE
-        playEnemyLaserSound();
-    }
-
     @Override
     protected void paintComponent(Graphics g) {
+        long frameStart = System.nanoTime();
         super.paintComponent(g);
-        Graphics2D g2 = (Graphics2D) g;
-
-        // ===== START画面 =====
-        if (showStartScreen) {
-            g2.setColor(Color.WHITE);
-            g2.setFont(new Font("Monospaced", Font.BOLD, 32));
-            String title = "SPACE INVADERS";
-            int tw = g2.getFontMetrics().stringWidth(title);
-            g2.drawString(title, (WIDTH - tw) / 2, HEIGHT / 2 - 60);
-
-            // ★ヒント表示（任意）
-            g2.setFont(new Font("Monospaced", Font.PLAIN, 16));
-            String hint = "Press S to Start";
-            int hw = g2.getFontMetrics().stringWidth(hint);
-            g2.drawString(hint, (WIDTH - hw) / 2, HEIGHT / 2 + 10);
-
-            return;
-        }
-
-        // ===== プレイ画面：背景画像を描画（最背面）=====
-        if (playBackground != null) {
-            g2.drawImage(playBackground, 0, 0, WIDTH, HEIGHT, null);
-        } else {
-            // 背景画像が無い場合の保険（黒）
-            g2.setColor(Color.BLACK);
-            g2.fillRect(0, 0, WIDTH, HEIGHT);
-        }
-
-        // 盾
-        for (Barrier barrier : barriers) {
-            barrier.draw(g2);
-        }
-
-        // 自機
-        if (!gameOver) {
-            player.draw(g2);
-        }
-
-        // 敵
-        for (Enemy enemy : enemies) {
-            enemy.draw(g2);
-        }
-
-        // 自機弾（黄色）
-        g2.setColor(Color.YELLOW);
-        for (Bullet b : bullets) {
-            g2.fillRect(b.x, b.y, b.width, b.height);
-        }
-
-        // 敵弾（赤）
-        g2.setColor(Color.RED);
-        for (Bullet b : enemyBullets) {
-            g2.fillRect(b.x, b.y, b.width, b.height);
-        }
-
-        // 残り敵数
-        g2.setColor(Color.WHITE);
-        g2.setFont(new Font("Monospaced", Font.PLAIN, 16));
-        g2.drawString("Enemies: " + enemies.size(), 20, 20);
-
-        if (gameOver) drawCenter(g2, "GAME OVER - Press R to Restart");
-        if (gameClear) drawCenter(g2, "YOU WIN! - Press R to Restart");
-    }
-
-    private void drawCenter(Graphics2D g2, String text) {
-        FontMetrics fm = g2.getFontMetrics();
-        int x = (WIDTH - fm.stringWidth(text)) / 2;
-        int y = HEIGHT / 2;
-        g2.drawString(text, x, y);
+        if (activeCanvas != null) return;
+
+        long now = System.nanoTime();
+        pacer.mark(now);
+        WorldSnapshot snapshot = simulation.latest();
+        renderer.render((Graphics2D) g, snapshot, simulation.alpha(snapshot, now), showStartScreen);
+        // Swing 描画では画面への転送は RepaintManager が paint の後で行うので、ここまでしか測れない
+        renderer.frameFinished(System.nanoTime() - frameStart);
     }
 
     @Override
     public void keyPressed(KeyEvent e) {
+        // 計測結果の表示切り替え（START画面でも効く）
+        if (e.getKeyCode() == KeyEvent.VK_F3) {
+            toggleProfileOverlay();
+            return;
+        }
+
         // ★START画面で S を押したら開始
         if (showStartScreen) {
             if (e.getKeyCode() == KeyEvent.VK_S) {
@@ -423,14 +258,16 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
             case KeyEvent.VK_LEFT -> leftPressed = true;
             case KeyEvent.VK_RIGHT -> rightPressed = true;
             case KeyEvent.VK_SPACE -> spacePressed = true;
+            case KeyEvent.VK_BACK_SPACE -> simulation.setRewinding(true);   // 押している間巻き戻す
             case KeyEvent.VK_R -> {
-                if (gameOver || gameClear) {
+                if (simulation.isFinished()) {
                     // ★Rリスタート時にもSTART音を鳴らす
                     playStartSound();
-                    initGame();
+                    simulation.requestReset();
                 }
             }
         }
+        updateInput();
     }
 
     @Override
@@ -441,7 +278,13 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
             case KeyEvent.VK_LEFT -> leftPressed = false;
             case KeyEvent.VK_RIGHT -> rightPressed = false;
             case KeyEvent.VK_SPACE -> spacePressed = false;
+            case KeyEvent.VK_BACK_SPACE -> simulation.setRewinding(false);
         }
+        updateInput();
+    }
+
+    private void updateInput() {
+        simulation.setInput(InputFrame.of(leftPressed, rightPressed, spacePressed).bits);
     }
 
     @Override
@@ -449,95 +292,20 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener {
 
     // ===== 効果音処理 =====
 
-    private void loadExplosionSound() {
-        try {
-            URL url = getClass().getResource("/sound/explosion.wav");
-            if (url == null) {
-                System.out.println("explosion.wav not found: /sound/explosion.wav");
-                return;
-            }
-            AudioInputStream ais = AudioSystem.getAudioInputStream(url);
-            explosionClip = AudioSystem.getClip();
-            explosionClip.open(ais);
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException ex) {
-            ex.printStackTrace();
-            explosionClip = null;
-        }
-    }
-
-    private void loadEnemyLaserSound() {
-        try {
-            URL url = getClass().getResource("/sound/enemy_laser.wav");
-            if (url == null) {
-                System.out.println("enemy_laser.wav not found: /sound/enemy_laser.wav");
-                return;
-            }
-            AudioInputStream ais = AudioSystem.getAudioInputStream(url);
-            enemyLaserClip = AudioSystem.getClip();
-            enemyLaserClip.open(ais);
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException ex) {
-            ex.printStackTrace();
-            enemyLaserClip = null;
-        }
-    }
-
-    private void loadPlayerDownSound() {
-        try {
-            URL url = getClass().getResource("/sound/player_down.wav");
-            if (url == null) {
-                System.out.println("player_down.wav not found: /sound/player_down.wav");
-                return;
-            }
-            AudioInputStream ais = AudioSystem.getAudioInputStream(url);
-            playerDownClip = AudioSystem.getClip();
-            playerDownClip.open(ais);
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException ex) {
-            ex.printStackTrace();
-            playerDownClip = null;
-        }
-    }
-
-    private void loadStartSound() {
-        try {
-            URL url = getClass().getResource("/sound/start.wav");
-            if (url == null) {
-                System.out.println("start.wav not found: /sound/start.wav");
-                return;
-            }
-            AudioInputStream ais = AudioSystem.getAudioInputStream(url);
-            startClip = AudioSystem.getClip();
-            startClip.open(ais);
-        } catch (UnsupportedAudioFileException | IOException | LineUnavailableException ex) {
-            ex.printStackTrace();
-            startClip = null;
-        }
-    }
-
+    // 再生はミキサーのキューに積むだけ（同じ音が重なっても途中で切れない）
     private void playExplosionSound() {
-        if (explosionClip == null) return;
-        if (explosionClip.isRunning()) explosionClip.stop();
-        explosionClip.setFramePosition(0);
-        explosionClip.start();
+        mixer.play(explosionSound);
     }
 
     private void playEnemyLaserSound() {
-        if (enemyLaserClip == null) return;
-        if (enemyLaserClip.isRunning()) enemyLaserClip.stop();
-        enemyLaserClip.setFramePosition(0);
-        enemyLaserClip.start();
+        mixer.play(enemyLaserSound);
     }
 
     private void playPlayerDownSound() {
-        if (playerDownClip == null) return;
-        if (playerDownClip.isRunning()) playerDownClip.stop();
-        playerDownClip.setFramePosition(0);
-        playerDownClip.start();
+        mixer.play(playerDownSound);
     }
 
     private void playStartSound() {
-        if (startClip == null) return;
-        if (startClip.isRunning()) startClip.stop();
-        startClip.setFramePosition(0);
-        startClip.start();
+        mixer.play(startSound);
     }
 }
@@ -0,0 +1,42 @@
+package game;
+
+// ゲーム内の乱数（SplitMix64）
+// 状態は long 1つだけなので、シードと入力が同じなら毎回同じ結果になり、状態の保存・復元も簡単。
+// split() で独立した系列を作れる（ゲームごと・スレッドごとに分ける用途）
+public final class GameRandom {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    public GameRandom(long seed) {
+        this.state = seed;
+    }
+
+    public long nextLong() {
+        long z = (state += GOLDEN_GAMMA);
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    // [0, bound) の一様な整数
+    public int nextInt(int bound) {
+        if (bound <= 0) throw new IllegalArgumentException("bound must be > 0");
+        // 上位 32bit を bound 倍して上位を取る（剰余の偏りがほぼ無く、除算も不要）
+        return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    // この系列から独立した新しい系列を作る
+    public GameRandom split() {
+        return new GameRandom(nextLong());
+    }
+
+    public long state() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state;
+    }
+}
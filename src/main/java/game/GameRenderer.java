@@ -0,0 +1,225 @@
+package game;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// WorldSnapshot を1フレーム分描く（Swing の paintComponent / BufferStrategy のどちらからも使う）
+// alpha は直前のティックから次のティックまでの進み具合で、動くものは1ティック前との間を補間して描く
+public class GameRenderer {
+
+    public static final int WIDTH = GameWorld.WIDTH;
+    public static final int HEIGHT = GameWorld.HEIGHT;
+
+    // 背景・文字などの静的な画像
+    private final RenderCache cache = new RenderCache();
+
+    // 盾の描画キャッシュ
+    private final BarrierLayer barrierLayer = new BarrierLayer();
+
+    // 自機・敵・弾の絵（大きさが変わった時だけ作り直す）と、それをまとめて描くバッチ
+    private SpriteAtlas atlas;
+    private final SpriteBatch batch = new SpriteBatch();
+
+    // 爆発・破片（リスタートで消す）。発生のきっかけは GameEventBus から描画スレッドで受け取る
+    private final ParticleSystem particles = new ParticleSystem(65536, WIDTH, HEIGHT);
+    private int particleGeneration = -1;
+    private GameEventBus.Subscriber events;
+    private final GameEventBus.Handler particleEvents = (type, x, y, tick) -> {
+        switch (type) {
+            case ENEMY_KILLED -> particles.emit(ParticleSystem.ENEMY_KILLED, x, y);
+            case BARRIER_HIT -> particles.emit(ParticleSystem.BARRIER_HIT, x, y);
+            case PLAYER_DOWN -> particles.emit(ParticleSystem.PLAYER_DOWN, x, y);
+            default -> {
+            }
+        }
+    };
+
+    // フェーズごとの所要時間と、その表示
+    private FrameProfiler profiler = FrameProfiler.OFF;
+    private ProfileOverlay overlay;
+    private volatile boolean overlayVisible = false;
+
+    // 描画の品質（null なら常に HIGH）
+    private QualityGovernor governor;
+    private QualityGovernor.Level quality = QualityGovernor.Level.HIGH;
+
+    // フレーム時間のばらつき（計測結果の表示用。null なら出さない）
+    private FramePacer pacer;
+
+    // 最初のフレームを描き終えた時に1回だけ呼ぶ（起動時間の計測用）
+    private volatile Runnable firstFrameListener;
+
+    public void setFirstFrameListener(Runnable listener) {
+        firstFrameListener = listener;
+    }
+
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler != null ? profiler : FrameProfiler.OFF;
+        overlay = this.profiler.isEnabled() ? new ProfileOverlay(this.profiler) : null;
+    }
+
+    public void setGovernor(QualityGovernor governor) {
+        this.governor = governor;
+    }
+
+    // 計測結果の表示切り替え（どのスレッドからでも呼べる）。切り替えた後に表示しているかを返す
+    public boolean toggleOverlay() {
+        overlayVisible = !overlayVisible;
+        return overlayVisible;
+    }
+
+    public void setPacer(FramePacer pacer) {
+        this.pacer = pacer;
+    }
+
+    // パーティクルを出す事象の読み手（render を呼ぶスレッドで読む）
+    public void setEvents(GameEventBus.Subscriber events) {
+        this.events = events;
+    }
+
+    // ===== 背景画像（プレイ画面用）=====
+    public void setPlayBackground(BufferedImage image) {
+        cache.setBackground(image);
+    }
+
+    // 1フレームを画面に出し終えた時に、フレームの開始（render の前）からの時間を渡す（品質の調整用）
+    // 画面への転送（BufferStrategy#show など）も含めて測るのは呼び出し側
+    public void frameFinished(long frameNanos) {
+        QualityGovernor gov = governor;
+        if (gov != null) gov.frame(frameNanos);
+    }
+
+    public void render(Graphics2D g2, WorldSnapshot s, double alpha, boolean showStartScreen) {
+        // パーティクル（リスタートしたら前のゲームの分は消す。消した後に届いた分は出す）
+        if (particleGeneration != s.generation) {
+            particleGeneration = s.generation;
+            particles.clear();
+        }
+        // START画面でも読み進めておく（溜めるとバスが一杯になる）
+        GameEventBus.Subscriber ev = events;
+        if (ev != null) ev.poll(particleEvents);
+
+        QualityGovernor gov = governor;
+        if (gov != null) applyQuality(g2, gov.level());
+
+        long frameStart = System.nanoTime();
+        draw(g2, s, alpha, showStartScreen);
+        profiler.lap(FrameProfiler.Phase.FRAME, frameStart);
+
+        if (overlayVisible && overlay != null) overlay.draw(g2, gov, pacer);
+
+        Runnable listener = firstFrameListener;
+        if (listener != null) {
+            firstFrameListener = null;
+            listener.run();
+        }
+    }
+
+    private void draw(Graphics2D g2, WorldSnapshot s, double alpha, boolean showStartScreen) {
+
+        // ===== START画面 =====
+        if (showStartScreen || !s.started) {
+            g2.drawImage(cache.startScreen(), 0, 0, null);
+            return;
+        }
+
+        FrameProfiler prof = profiler;
+        long t = prof.mark();
+
+        // ===== プレイ画面：背景画像を描画（最背面）=====
+        BufferedImage background = quality.background ? cache.background() : null;
+        if (background != null) {
+            g2.drawImage(background, 0, 0, null);
+        } else {
+            // 背景画像が無い場合の保険・品質を下げた時（黒）
+            g2.setColor(Color.BLACK);
+            g2.fillRect(0, 0, WIDTH, HEIGHT);
+        }
+        t = prof.lap(FrameProfiler.Phase.BACKGROUND, t);
+
+        // 盾
+        barrierLayer.draw(g2, s);
+        t = prof.lap(FrameProfiler.Phase.BARRIERS, t);
+
+        // 自機・敵・弾はバッチに積んで、最後に絵ごとにまとめて描く
+        SpriteAtlas sprites = atlas(s);
+
+        // 自機
+        if (!s.gameOver) {
+            int px = lerp(s.playerPrevX, s.playerX, alpha);
+            batch.add(SpriteAtlas.PLAYER, px, s.playerY - SpriteAtlas.TURRET,
+                    s.playerWidth, s.playerHeight + SpriteAtlas.TURRET);
+        }
+
+        // 敵（隊列が 16ティック進むごとにコマを切り替える）
+        int ox = lerp(s.prevOriginX, s.originX, alpha);
+        int oy = lerp(s.prevOriginY, s.originY, alpha);
+        int frame = (int) (s.tick >> 4) & 1;
+        for (int i = 0; i < s.enemyCount; i++) {
+            batch.add(SpriteAtlas.enemy(s.enemyRow[i], frame),
+                    ox + s.enemyX[i], oy + s.enemyY[i], s.enemyWidth[i], s.enemyHeight[i]);
+        }
+
+        // 自機弾（黄色）・敵弾（赤）
+        addBullets(SpriteAtlas.PLAYER_BULLET, s.bullets, alpha);
+        addBullets(SpriteAtlas.ENEMY_BULLET, s.enemyBullets, alpha);
+
+        batch.flush(g2, sprites);
+        t = prof.lap(FrameProfiler.Phase.ENTITIES, t);
+
+        // パーティクル
+        particles.update(System.nanoTime());
+        particles.draw(g2);
+        t = prof.lap(FrameProfiler.Phase.PARTICLES, t);
+
+        // 残り敵数（バスの撃墜事象からは数えずスナップショットの値を使う。巻き戻し・リスタート・観戦の鏡でも
+        // そのティックの正しい値になり、事象の取りこぼしでずれることもない）
+        g2.drawImage(cache.hud(s.enemyCount), cache.hudX(), cache.hudY(), null);
+
+        if (s.gameOver) drawCenter(g2, cache.gameOverText());
+        if (s.gameClear) drawCenter(g2, cache.gameClearText());
+        prof.lap(FrameProfiler.Phase.HUD, t);
+    }
+
+    // 段階が変わった時だけ各部に反映する。ヒントは Graphics ごとなので毎フレーム設定する
+    private void applyQuality(Graphics2D g2, QualityGovernor.Level level) {
+        if (level != quality) {
+            quality = level;
+            particles.setLimit(level.particles);
+            barrierLayer.setRedrawEvery(level.barrierRedrawEvery);
+        }
+        g2.setRenderingHint(RenderingHints.KEY_RENDERING,
+                level.smooth ? RenderingHints.VALUE_RENDER_QUALITY : RenderingHints.VALUE_RENDER_SPEED);
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                level.smooth ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                level.smooth ? RenderingHints.VALUE_INTERPOLATION_BILINEAR : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+    }
+
+    // 弾は毎ティック y -= speed なので、1ティック前の y は y + speed
+    private void addBullets(int sprite, BulletPool pool, double alpha) {
+        double back = 1.0 - alpha;
+        for (int i = 0; i < pool.count; i++) {
+            int y = pool.y[i] + (int) Math.round(pool.speed[i] * back);
+            batch.add(sprite, pool.x[i], y, pool.width[i], pool.height[i]);
+        }
+    }
+
+    // 敵・自機の大きさに合わせた絵（設定を変えて大きさが変わった時だけ作り直す）
+    private SpriteAtlas atlas(WorldSnapshot s) {
+        int ew = s.enemyCount > 0 ? s.enemyWidth[0] : (atlas != null ? atlas.enemyWidth : 30);
+        int eh = s.enemyCount > 0 ? s.enemyHeight[0] : (atlas != null ? atlas.enemyHeight : 20);
+        if (atlas == null || !atlas.matches(ew, eh, s.playerWidth, s.playerHeight)) {
+            atlas = new SpriteAtlas(ew, eh, s.playerWidth, s.playerHeight);
+        }
+        return atlas;
+    }
+
+    private static int lerp(int prev, int cur, double alpha) {
+        return prev + (int) Math.round((cur - prev) * alpha);
+    }
+
+    private void drawCenter(Graphics2D g2, BufferedImage text) {
+        g2.drawImage(text, cache.centerX(text), cache.centerY(), null);
+    }
+}
@@ -0,0 +1,344 @@
+package game;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+// 権威サーバー: ゲームはサーバーだけが進め、クライアントには状態（FULL / DELTA）を送る
+//
+//   java -cp space-invaders.jar game.GameServer --port 7777 [--tickRate 62.5] [--enemyRows 8 など GameConfig の値]
+//
+// 1スレッドの Selector で全接続・全セッションを扱う。セッションは HELLO の番号ごとに作り、
+// 最初に操作を希望した接続が自機を操作し（PILOT）、それ以外は観戦（SPECTATOR）。誰もいなくなったら捨てる
+// 状態はセッションごとに1回だけ direct ByteBuffer に書き、同じバイト列を各接続の送信バッファに写す（送信ごとの割り当てなし）
+public class GameServer {
+
+    static final int MAX_CATCH_UP = 5;          // 遅れた時に1回で進める最大ティック数
+    static final int CLIENT_BUFFER = 256 * 1024;
+
+    private final GameConfig config;
+    private final long stepNanos;   // 1ティックの長さ（WELCOME でクライアントにも伝える）
+    private final GameRandom seeds;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+
+    private final Map<Integer, Session> sessions = new HashMap<>();
+    private final List<Session> sessionList = new ArrayList<>();
+
+    private volatile boolean running = true;
+
+    final class Session {
+        final int id;
+        final GameWorld world = new GameWorld(config);
+        final SnapshotCodec codec = new SnapshotCodec();
+        final List<Client> clients = new ArrayList<>();
+        Client pilot;
+        int inputBits;
+
+        // 書き出し済みのメッセージ（全接続で共有）
+        ByteBuffer full = ByteBuffer.allocateDirect(64 * 1024);
+        ByteBuffer delta = ByteBuffer.allocateDirect(64 * 1024);
+
+        Session(int id) {
+            this.id = id;
+        }
+    }
+
+    static final class Client {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocateDirect(64);
+        ByteBuffer out = ByteBuffer.allocateDirect(CLIENT_BUFFER);
+        Session session;
+        boolean needsFull = true;
+
+        Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    public GameServer(GameConfig config, int port, long seed) throws IOException {
+        this(config, port, seed, GameSimulation.STEP_NANOS);
+    }
+
+    public GameServer(GameConfig config, int port, long seed, long stepNanos) throws IOException {
+        if (stepNanos <= 0) throw new IllegalArgumentException("stepNanos must be > 0: " + stepNanos);
+        config.validate();
+        this.config = config;
+        this.stepNanos = stepNanos;
+        this.seeds = new GameRandom(seed);
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Properties p = GameConfig.parseArgs(args);
+        GameConfig config = GameConfig.fromArgs(p);
+        int port = GameConfig.intValue(p, "port", NetProtocol.DEFAULT_PORT, 0);
+        long seed = Long.parseLong(p.getProperty("seed", Long.toString(System.nanoTime())));
+        long stepNanos = GameSimulation.stepNanosOf(p.getProperty("tickRate", System.getProperty("invaders.tickRate")));
+
+        GameServer server = new GameServer(config, port, seed, stepNanos);
+        System.out.println("server listening on " + server.port() + " step=" + stepNanos + "ns config: " + config);
+        server.run();
+    }
+
+    public int port() throws IOException {
+        return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    public void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    // stepNanos ごと（既定 62.5Hz）にティックを進めながら、その間は入出力を待つ
+    public void run() throws IOException {
+        long next = System.nanoTime() + stepNanos;
+        try {
+            while (running) {
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    selector.select(Math.max(1, wait / 1_000_000L));
+                } else {
+                    selector.selectNow();
+                }
+                handleKeys();
+
+                long now = System.nanoTime();
+                if (now < next) continue;
+                int steps = 0;
+                while (now >= next && steps < MAX_CATCH_UP) {
+                    next += stepNanos;
+                    steps++;
+                }
+                if (now >= next) next = now + stepNanos;   // 大きく遅れた分は捨てる
+
+                // 送信に失敗すると disconnect でそのセッションがリストから消えることがあるので後ろから回す
+                for (int i = sessionList.size() - 1; i >= 0; i--) {
+                    step(sessionList.get(i), steps);
+                }
+            }
+        } finally {
+            for (SelectionKey key : selector.keys()) key.channel().close();
+            selector.close();
+        }
+    }
+
+    private void handleKeys() {
+        Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+        while (it.hasNext()) {
+            SelectionKey key = it.next();
+            it.remove();
+            try {
+                if (!key.isValid()) continue;
+                if (key.isAcceptable()) accept();
+                if (key.isValid() && key.isReadable()) read(key);
+                if (key.isValid() && key.isWritable()) flush(key, (Client) key.attachment());
+            } catch (IOException | RuntimeException e) {
+                // 壊れたメッセージなどはその接続だけ切る（他のセッションは続ける）
+                System.out.println("client disconnected: " + e);
+                disconnect(key);
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) return;
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        channel.register(selector, SelectionKey.OP_READ, new Client(channel));
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        Client client = (Client) key.attachment();
+        if (client.channel.read(client.in) < 0) throw new IOException("closed by peer");
+
+        ByteBuffer in = client.in;
+        in.flip();
+        while (in.remaining() >= NetProtocol.HEADER) {
+            int length = in.getInt(in.position());
+            if (length < 1 || length > in.capacity() - 4) throw new IOException("bad message length: " + length);
+            if (in.remaining() < 4 + length) break;
+            int end = in.position() + 4 + length;
+            in.getInt();
+            handleMessage(key, client, in.get(), length - 1, in);
+            in.position(end);
+        }
+        in.compact();
+    }
+
+    // payload: 種類の1バイトを除いた長さ（種類ごとに決まった長さでなければ切断する）
+    private void handleMessage(SelectionKey key, Client client, byte type, int payload, ByteBuffer in) throws IOException {
+        int expected = switch (type) {
+            case NetProtocol.HELLO -> 5;
+            case NetProtocol.INPUT -> 1;
+            case NetProtocol.RESET -> 0;
+            default -> throw new IOException("unknown message type: " + type);
+        };
+        if (payload != expected) {
+            throw new IOException("bad payload length for type " + type + ": " + payload + " (expected " + expected + ")");
+        }
+        switch (type) {
+            case NetProtocol.HELLO -> join(key, client, in.getInt(), in.get() != 0);
+            case NetProtocol.INPUT -> {
+                Session s = client.session;
+                if (s != null && s.pilot == client) s.inputBits = in.get() & InputRecorder.INPUT_MASK;
+            }
+            case NetProtocol.RESET -> {
+                Session s = client.session;
+                if (s != null && s.pilot == client && !s.world.isRunning()) s.world.reset(seeds.nextLong());
+            }
+            default -> throw new IOException("unknown message type: " + type);
+        }
+    }
+
+    private void join(SelectionKey key, Client client, int id, boolean wantsPilot) throws IOException {
+        if (client.session != null) throw new IOException("already joined");
+        Session s = sessions.get(id);
+        if (s == null) {
+            s = new Session(id);
+            sessions.put(id, s);
+            sessionList.add(s);
+        }
+        client.session = s;
+        s.clients.add(client);
+
+        boolean pilot = wantsPilot && s.pilot == null;
+        if (pilot) {
+            s.pilot = client;
+            s.inputBits = 0;
+            if (s.world.player == null) s.world.reset(seeds.nextLong());
+        }
+
+        ByteBuffer out = client.out;
+        int start = NetProtocol.beginFrame(out, NetProtocol.WELCOME);
+        out.put(pilot ? NetProtocol.PILOT : NetProtocol.SPECTATOR);
+        out.putLong(stepNanos);
+        NetProtocol.writeConfig(out, config);
+        NetProtocol.endFrame(out, start);
+        flush(key, client);
+
+        System.out.println("session " + id + ": " + (pilot ? "pilot" : "spectator") + " joined ("
+                + s.clients.size() + " connected)");
+    }
+
+    private void step(Session s, int steps) {
+        GameWorld world = s.world;
+        if (world.player == null) return;
+
+        InputFrame input = InputFrame.ofBits(s.inputBits);
+        for (int i = 0; i < steps && world.isRunning(); i++) {
+            world.tick(input);
+        }
+        broadcast(s);
+    }
+
+    // 差分は前回送った状態から。新しく来た接続・送りそびれた接続とリスタート後は FULL
+    private void broadcast(Session s) {
+        GameWorld world = s.world;
+        boolean keyframe = s.codec.needsFull(world);
+        boolean anyFull = keyframe, anyDelta = false;
+        for (Client c : s.clients) {
+            if (c.needsFull) anyFull = true;
+            else anyDelta = true;
+        }
+
+        int size = NetProtocol.HEADER + SnapshotCodec.maxSize(world);
+        if (!keyframe && anyDelta) {
+            s.delta = ensure(s.delta, size);
+            s.delta.clear();
+            int start = NetProtocol.beginFrame(s.delta, NetProtocol.DELTA);
+            s.codec.writeDelta(world, s.delta);
+            NetProtocol.endFrame(s.delta, start);
+            s.delta.flip();
+        }
+        if (anyFull) {
+            s.full = ensure(s.full, size);
+            s.full.clear();
+            int start = NetProtocol.beginFrame(s.full, NetProtocol.FULL);
+            s.codec.writeFull(world, s.full);
+            NetProtocol.endFrame(s.full, start);
+            s.full.flip();
+        }
+
+        for (int i = 0; i < s.clients.size(); i++) {
+            Client c = s.clients.get(i);
+            boolean full = keyframe || c.needsFull;
+            ByteBuffer message = full ? s.full : s.delta;
+            SelectionKey key = c.channel.keyFor(selector);
+            if (message.limit() > c.out.capacity()) {
+                // 隊列・弾が多くて1メッセージがバッファより大きい（作り直すのはこの時だけ）
+                ByteBuffer grown = ByteBuffer.allocateDirect(message.limit() * 2);
+                c.out.flip();
+                grown.put(c.out);
+                c.out = grown;
+            }
+            if (c.out.remaining() < message.limit()) {
+                // 相手が読むのが遅くて送信バッファが一杯: 今回は捨て、追いついたら FULL から送り直す
+                c.needsFull = true;
+            } else {
+                message.position(0);
+                c.out.put(message);
+                c.needsFull = false;
+            }
+            try {
+                flush(key, c);
+            } catch (IOException e) {
+                System.out.println("client disconnected: " + e.getMessage());
+                disconnect(key);
+                i--;
+            }
+        }
+    }
+
+    // 送信バッファの中身を書けるだけ書き、残ったら書き込み可能になるのを待つ
+    private void flush(SelectionKey key, Client client) throws IOException {
+        ByteBuffer out = client.out;
+        out.flip();
+        client.channel.write(out);
+        boolean pending = out.hasRemaining();
+        out.compact();
+        key.interestOps(pending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    private void disconnect(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        if (!(key.attachment() instanceof Client client) || client.session == null) return;
+
+        Session s = client.session;
+        s.clients.remove(client);
+        if (s.pilot == client) {
+            s.pilot = null;
+            s.inputBits = 0;
+        }
+        if (s.clients.isEmpty()) {
+            sessions.remove(s.id);
+            sessionList.remove(s);
+            System.out.println("session " + s.id + " closed");
+        }
+    }
+
+    private static ByteBuffer ensure(ByteBuffer buffer, int size) {
+        if (buffer.capacity() >= size) return buffer;
+        return ByteBuffer.allocateDirect(Math.max(size, buffer.capacity() * 2));
+    }
+}
@@ -0,0 +1,210 @@
+package game;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// GameWorld を固定ステップで進め、描画用のスナップショットを公開する
+// update() を EDT の Timer から呼べば従来どおり、start() で専用スレッドに載せれば EDT から切り離せる
+public class GameSimulation implements SnapshotSource {
+
+    // 62.5Hz 固定ステップ（旧 Timer(16) と同じ速度）
+    public static final long STEP_NANOS = 16_000_000L;
+
+    final GameWorld world;
+
+    // 1ティックの長さ。移動量・発射間隔などはティック単位なので、変えてもシミュレーションの細かさは変わらず、
+    // ゲーム全体の速さが変わる（62.5Hz より上げると速く、下げると遅くなる）。記録には InputRecorder のヘッダに残す
+    private final long stepNanos;
+
+    // ゲームごとのシードはここから切り出す（セッションのシードが同じなら毎回同じ並びになる）
+    private final GameRandom seeds;
+    private final FixedStepLoop loop;
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+
+    // 入力は InputFrame のビット。キー入力のスレッドから書き、シミュレーション側で毎ティック読む
+    private volatile int inputBits = 0;
+    private final AtomicBoolean resetRequested = new AtomicBoolean(false);
+
+    // 最後のティック後の状態（他スレッドからの参照用）
+    private volatile boolean finished = false;
+
+    private volatile Thread thread;
+
+    // 入力の記録（無効なら null）
+    private volatile InputRecorder recorder;
+
+    // 巻き戻し用の履歴（毎ティック保存。約10秒分）。rewinding の間は1ステップごとに1ティック戻る
+    private final StateRing history = new StateRing(625);
+    private volatile boolean rewinding = false;
+
+    // ティックにかかった時間の報告先（null なら測らない）
+    private volatile QualityGovernor governor;
+
+    public GameSimulation(long sessionSeed) {
+        this(new GameConfig(), sessionSeed);
+    }
+
+    public GameSimulation(GameConfig config, long sessionSeed) {
+        this(config, sessionSeed, STEP_NANOS);
+    }
+
+    public GameSimulation(GameConfig config, long sessionSeed, long stepNanos) {
+        world = new GameWorld(config);
+        seeds = new GameRandom(sessionSeed);
+        this.stepNanos = stepNanos;
+        loop = new FixedStepLoop(stepNanos, 5);
+    }
+
+    // -Dinvaders.tickRate=<Hz>（既定 62.5）から1ティックの長さを決める（ゲームの速さが変わる。上の stepNanos を参照）
+    public static long stepNanosFromSystemProperty() {
+        return stepNanosOf(System.getProperty("invaders.tickRate"));
+    }
+
+    // ティックレート（Hz）の文字列から1ティックの長さを決める（null なら既定の STEP_NANOS）
+    public static long stepNanosOf(String rate) {
+        if (rate == null) return STEP_NANOS;
+        try {
+            double hz = Double.parseDouble(rate.trim());
+            if (hz > 0) return (long) (1e9 / hz);
+        } catch (NumberFormatException e) {
+            // 下で報告する
+        }
+        System.out.println("invalid invaders.tickRate: " + rate);
+        return STEP_NANOS;
+    }
+
+    public long stepNanos() {
+        return stepNanos;
+    }
+
+    public void setInput(int bits) {
+        inputBits = bits;
+    }
+
+    // 次の update() の先頭でゲームを初期化する（どのスレッドからでも呼べる）
+    public void requestReset() {
+        resetRequested.set(true);
+    }
+
+    // これ以降の開始・入力・終了状態を記録する
+    public void setRecorder(InputRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    // 押している間だけ巻き戻す（入力を記録している間は、記録と食い違うので効かない）
+    public void setRewinding(boolean rewinding) {
+        this.rewinding = rewinding;
+    }
+
+    public void setGovernor(QualityGovernor governor) {
+        this.governor = governor;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    // 経過時間ぶんティックを進め、進んだ場合はスナップショットを公開する。進めたティック数を返す
+    public int update(long now) {
+        QualityGovernor gov = governor;
+        if (gov == null) return advance(now);
+        long start = System.nanoTime();
+        int steps = advance(now);
+        gov.recordUpdate(System.nanoTime() - start);
+        return steps;
+    }
+
+    private int advance(long now) {
+        InputRecorder rec = recorder;
+        if (resetRequested.getAndSet(false)) {
+            long seed = seeds.nextLong();
+            world.reset(seed);
+            if (rec != null) record(rec, r -> r.reset(seed));
+            history.clear();   // 前のゲームへは戻さない（WorldState の遅い道を通らないように）
+            history.reserve(WorldState.expectedSize(world));   // ゲーム中に作り直さないよう先に確保する
+            history.save(world);
+            loop.reset();
+            loop.advance(now);
+            finished = false;
+            snapshots.publish(world, now);
+        }
+
+        boolean rewind = rewinding && rec == null && history.size() > 1;
+        if (!world.isRunning() && !rewind) {
+            loop.reset();
+            return 0;
+        }
+
+        int steps = loop.advance(now);
+        InputFrame input = InputFrame.ofBits(inputBits);
+        for (int i = 0; i < steps; i++) {
+            if (rewind) {
+                if (history.size() < 2) break;
+                history.rewind(world, 1);
+            } else {
+                if (!world.isRunning()) break;
+                world.tick(input);
+                history.save(world);
+                if (rec != null) record(rec, r -> r.tick(input.bits));
+            }
+        }
+
+        if (steps > 0) {
+            finished = !world.isRunning();
+            if (finished && rec != null) record(rec, r -> r.check(world.tick, world.checksum()));
+            snapshots.publish(world, now - loop.pendingNanos());
+        }
+        return steps;
+    }
+
+    private interface RecordAction {
+        void apply(InputRecorder recorder) throws IOException;
+    }
+
+    // 書き込みに失敗したら記録をやめる（ゲームは続ける）
+    private void record(InputRecorder rec, RecordAction action) {
+        try {
+            action.apply(rec);
+        } catch (IOException e) {
+            e.printStackTrace();
+            recorder = null;
+        }
+    }
+
+    // 描画側（読み手は1スレッドだけ）
+    @Override
+    public WorldSnapshot latest() {
+        return snapshots.latest();
+    }
+
+    // 時刻 now における、snapshot の状態から次のティックまでの進み具合（0.0〜1.0）
+    @Override
+    public double alpha(WorldSnapshot snapshot, long now) {
+        if (snapshot.gameOver || snapshot.gameClear) return 1.0;
+        double a = (double) (now - snapshot.stateNanos) / stepNanos;
+        return a < 0 ? 0 : Math.min(a, 1.0);
+    }
+
+    // 専用スレッドでシミュレーションを回す
+    public synchronized void start() {
+        if (thread != null) return;
+        thread = new Thread(this::run, "game-simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        Thread t = thread;
+        thread = null;
+        if (t != null) t.interrupt();
+    }
+
+    // ティックの締め切りごとに起きて進める（ミリ秒単位の sleep ではなく FramePacer で待つので、ティックの間隔が揃う）
+    private void run() {
+        Thread self = Thread.currentThread();
+        FramePacer pacer = new FramePacer(stepNanos);
+        while (thread == self && !self.isInterrupted()) {
+            update(pacer.awaitNext());
+        }
+    }
+}
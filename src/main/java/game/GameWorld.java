@@ -0,0 +1,412 @@
+package game;
+
+// ゲームの状態とロジック本体（Swing/AWT 非依存）
+// GamePanel は描画と入力だけを担当し、ここを tick() で1ティックずつ進める
+public class GameWorld {
+
+    public static final int WIDTH = 800;
+    public static final int HEIGHT = 600;
+
+    // 効果音・パーティクルなどの副作用はここから外に通知する（座標はワールド座標）
+    public interface Listener {
+        default void enemyKilled(int x, int y) {}
+        default void enemyShot() {}
+        default void barrierHit(int x, int y) {}
+        default void playerDown(int x, int y) {}
+    }
+
+    Player player;
+    final Formation formation;
+    BulletPool bullets = new BulletPool(64);        // 自機の弾
+    BulletPool enemyBullets = new BulletPool(64);   // 敵の弾
+    final BarrierField barriers = new BarrierField(WIDTH);  // 盾
+
+    final GameConfig config;
+
+    int enemyDx = 2;
+    int enemyStepDown = 10;
+
+    boolean gameOver = false;
+    boolean gameClear = false;
+
+    long tick = 0;        // reset からのティック数
+    int generation = 0;   // reset のたびに増える（描画キャッシュの作り直し判定用）
+    int initialBarrierHp; // reset 直後の盾の耐久値合計（消耗率の集計用）
+
+    // 時間はすべてティック単位（既定の1ティック = GameSimulation.STEP_NANOS = 16ms。ティックを短くするとその分速く進む）
+    // 実時間を使わないので、シードと入力が同じなら結果も同じになり、実時間より速く回しても挙動は変わらない
+
+    // 自機の連射制限（既定 13ティック ≒ 200ms）
+    long lastShotTick;
+    int shotInterval;
+
+    // 敵の弾（既定 50ティック = 800ms）
+    long lastEnemyShotTick;
+    int enemyShotInterval;
+
+    // 乱数（reset のシードで初期化）
+    long seed = 0;
+    final GameRandom random = new GameRandom(0);
+
+    private Listener listener = new Listener() {};
+
+    // 弾の移動と当たり判定を並列に行う（null なら逐次）
+    private ParallelPhases parallel;
+
+    // フェーズごとの所要時間（既定は測らない）
+    private FrameProfiler profiler = FrameProfiler.OFF;
+
+    public GameWorld() {
+        this(new GameConfig());
+    }
+
+    public GameWorld(int enemyRows, int enemyCols) {
+        this(withFormation(enemyRows, enemyCols));
+    }
+
+    // 隊列の間隔と大きさは GameConfig が決める。盾が隊列と重なる設定は IllegalArgumentException
+    public GameWorld(GameConfig config) {
+        config.validate();
+        this.config = config;
+        this.shotInterval = config.shotInterval;
+        this.enemyShotInterval = config.enemyShotInterval;
+        this.enemyStepDown = config.enemyStepDown;
+
+        formation = new Formation(config.enemyRows, config.enemyCols, config.enemyHGap(), config.enemyVGap(),
+                config.enemyWidth(), config.enemyHeight());
+    }
+
+    private static GameConfig withFormation(int rows, int cols) {
+        GameConfig config = new GameConfig();
+        config.enemyRows = rows;
+        config.enemyCols = cols;
+        return config;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener != null ? listener : new Listener() {};
+    }
+
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler != null ? profiler : FrameProfiler.OFF;
+    }
+
+    public void setParallel(ParallelPhases parallel) {
+        this.parallel = parallel;
+    }
+
+    // 前回と同じシードでやり直す
+    public void reset() {
+        reset(seed);
+    }
+
+    public void reset(long seed) {
+        this.seed = seed;
+        random.setState(seed);
+
+        player = new Player(WIDTH / 2 - 20, HEIGHT - 80, 40, 20);
+
+        // 敵配置
+        formation.reset(GameConfig.FORMATION_X, GameConfig.FORMATION_Y);
+
+        bullets.clear();
+        enemyBullets.clear();
+
+        // 盾配置
+        // 1段に8枚まで並べ、それ以上は上に段を重ねる（既定の4枚は x = 100, 250, 400, 550）
+        // 段数は GameConfig#maxBarriers で隊列の初期位置より下に収まる分までに制限してある
+        barriers.clear();
+        int barrierStartX = 100;
+        int perRow = Math.min(Math.max(config.barrierCount, 1), GameConfig.BARRIERS_PER_ROW);
+        int spacing = 600 / perRow;
+        for (int i = 0; i < config.barrierCount; i++) {
+            barriers.add(new Barrier(barrierStartX + (i % perRow) * spacing,
+                    GameConfig.BARRIER_BASE_Y - (i / perRow) * GameConfig.BARRIER_ROW_GAP));
+        }
+        initialBarrierHp = barriers.totalHp();
+
+        enemyDx = config.enemyDx;
+        gameOver = false;
+        gameClear = false;
+        tick = 0;
+        generation++;
+
+        // 開始直後はどちらもすぐ撃てる
+        lastShotTick = -shotInterval;
+        lastEnemyShotTick = -enemyShotInterval;
+    }
+
+    public boolean isRunning() {
+        return player != null && !gameOver && !gameClear;
+    }
+
+    public void tick(InputFrame input) {
+        if (!isRunning()) return;
+        FrameProfiler prof = profiler;
+        long tickStart = prof.mark();
+        long t = tickStart;
+        tick++;
+
+        player.prevX = player.x;
+        formation.savePrevious();
+
+        // 自機移動
+        if (input.left() && !input.right()) player.move(-5, WIDTH);
+        if (input.right() && !input.left()) player.move(5, WIDTH);
+
+        // 自機弾発射
+        if (input.fire()) shootBullet();
+        t = prof.lap(FrameProfiler.Phase.INPUT, t);
+
+        // 敵の移動（隊列の外接矩形だけで端を判定）
+        formation.move(enemyDx, 0);
+        if (formation.left() < 20 || formation.right() > WIDTH - 20) {
+            enemyDx = -enemyDx;
+            formation.move(0, enemyStepDown);
+            if (formation.bottom() >= HEIGHT - 100) {
+                setGameOver();
+            }
+        }
+        t = prof.lap(FrameProfiler.Phase.ENEMY_MOVE, t);
+
+        // 敵の弾発射
+        enemyShoot();
+        t = prof.lap(FrameProfiler.Phase.ENEMY_SHOOT, t);
+
+        // 自機弾の移動 & 盾との判定 & 敵との判定
+        BulletPool pb = bullets;
+        ParallelPhases par = parallel;
+        if (par != null && par.prepare(this, pb, false)) {
+            // 移動と下調べは並列に済んでいる。当たりうる弾だけ逐次版と同じ順番で確定する
+            for (int i = 0; i < pb.count; ) {
+                if (!par.candidate(i)) {
+                    i++;
+                } else if (resolvePlayerBullet(i, par.prevY(i))) {
+                    par.removed(i, pb.count);
+                } else {
+                    i++;
+                }
+            }
+        } else {
+            for (int i = 0; i < pb.count; ) {
+                int prevY = pb.y[i];
+                pb.y[i] -= pb.speed[i];
+                if (!resolvePlayerBullet(i, prevY)) i++;
+            }
+        }
+        t = prof.lap(FrameProfiler.Phase.PLAYER_BULLETS, t);
+
+        // 敵弾の移動 & 盾との判定 & 自機との判定
+        BulletPool eb = enemyBullets;
+        if (par != null && par.prepare(this, eb, true)) {
+            for (int i = 0; i < eb.count; ) {
+                if (!par.candidate(i)) {
+                    i++;
+                } else if (resolveEnemyBullet(i, par.prevY(i))) {
+                    par.removed(i, eb.count);
+                } else {
+                    i++;
+                }
+            }
+        } else {
+            for (int i = 0; i < eb.count; ) {
+                // enemy bullet: speed が負なので下に進む
+                int prevY = eb.y[i];
+                eb.y[i] -= eb.speed[i];
+                if (!resolveEnemyBullet(i, prevY)) i++;
+            }
+        }
+        prof.lap(FrameProfiler.Phase.ENEMY_BULLETS, t);
+
+        // 敵 vs 自機
+        if (formation.hitTest(player.x, player.y, player.width, player.height) >= 0) {
+            setGameOver();
+        }
+
+        // 全部倒したらクリア
+        if (formation.isEmpty()) {
+            gameClear = true;
+        }
+        prof.lap(FrameProfiler.Phase.TICK, tickStart);
+    }
+
+    // 移動済みの自機弾 i（prevY は移動前の y）の当たり判定。弾を消したら true
+    private boolean resolvePlayerBullet(int i, int prevY) {
+        BulletPool pb = bullets;
+        int bx = pb.x[i], by = pb.y[i];
+
+        // 盾との衝突（このティックで通過した範囲全体で判定）
+        if (barriers.hitSwept(bx, pb.width[i], by, prevY + pb.height[i], false)) {
+            listener.barrierHit(bx + pb.width[i] / 2, by);
+            pb.remove(i);
+            return true;
+        }
+
+        // 画面外
+        if (by < 0) {
+            pb.remove(i);
+            return true;
+        }
+
+        // 敵との衝突判定（隊列の外接矩形 → グリッドで近くの敵だけ調べる）
+        int hit = formation.hitTest(bx, by, pb.width[i], pb.height[i]);
+        if (hit >= 0) {
+            listener.enemyKilled(formation.worldX(hit) + formation.width[hit] / 2,
+                    formation.worldY(hit) + formation.height[hit] / 2);
+
+            formation.kill(hit);
+            pb.remove(i);
+            return true;
+        }
+        return false;
+    }
+
+    // 移動済みの敵弾 i の当たり判定。弾を消したら true
+    private boolean resolveEnemyBullet(int i, int prevY) {
+        BulletPool eb = enemyBullets;
+        int bx = eb.x[i], by = eb.y[i];
+
+        // 盾との衝突（このティックで通過した範囲全体で判定）
+        if (barriers.hitSwept(bx, eb.width[i], prevY, by + eb.height[i], true)) {
+            listener.barrierHit(bx + eb.width[i] / 2, by + eb.height[i]);
+            eb.remove(i);
+            return true;
+        }
+
+        // 自機との衝突
+        if (overlaps(player.x, player.y, player.width, player.height, bx, by, eb.width[i], eb.height[i])) {
+            setGameOver();
+            eb.remove(i);
+            return true;
+        }
+
+        // 画面外
+        if (by > HEIGHT) {
+            eb.remove(i);
+            return true;
+        }
+        return false;
+    }
+
+    // resolvePlayerBullet / resolveEnemyBullet で何か起きうるか（状態は変えないので ParallelPhases から並列に呼ぶ）
+    boolean playerBulletMayHit(int i, int prevY) {
+        BulletPool pb = bullets;
+        int bx = pb.x[i], by = pb.y[i];
+        return by < 0
+                || barriers.touchesSwept(bx, pb.width[i], by, prevY + pb.height[i], false)
+                || formation.hitTest(bx, by, pb.width[i], pb.height[i]) >= 0;
+    }
+
+    boolean enemyBulletMayHit(int i, int prevY) {
+        BulletPool eb = enemyBullets;
+        int bx = eb.x[i], by = eb.y[i];
+        return by > HEIGHT
+                || overlaps(player.x, player.y, player.width, player.height, bx, by, eb.width[i], eb.height[i])
+                || barriers.touchesSwept(bx, eb.width[i], prevY, by + eb.height[i], true);
+    }
+
+    // ゲームオーバー処理（自機撃墜SEは遷移時の1回だけ）
+    private void setGameOver() {
+        if (!gameOver) {
+            gameOver = true;
+            listener.playerDown(player.x + player.width / 2, player.y + player.height / 2);
+        }
+    }
+
+    private void shootBullet() {
+        if (tick - lastShotTick < shotInterval) return;
+        lastShotTick = tick;
+
+        // 複数発なら 8px 間隔で横に並べる
+        int volley = config.playerVolley;
+        for (int k = 0; k < volley; k++) {
+            bullets.add(
+                    player.x + player.width / 2 - 2 + (2 * k - (volley - 1)) * 4,
+                    player.y,
+                    4, 10, 8
+            );
+        }
+    }
+
+    private void enemyShoot() {
+        if (formation.isEmpty()) return;
+
+        if (tick - lastEnemyShotTick < enemyShotInterval) return;
+        lastEnemyShotTick = tick;
+
+        // 生存している列から1つ選び、その列の一番下の敵が撃つ（enemyVolley 回）
+        for (int k = 0; k < config.enemyVolley; k++) {
+            int shooter = formation.shooter(random.nextInt(formation.aliveColumns()));
+
+            enemyBullets.add(
+                    formation.worldX(shooter) + formation.width[shooter] / 2 - 2,
+                    formation.worldY(shooter) + formation.height[shooter],
+                    4, 10, -6   // マイナスで下方向
+            );
+        }
+
+        listener.enemyShot();
+    }
+
+    // 今のティック数（reset で 0）
+    public long currentTick() {
+        return tick;
+    }
+
+    public Formation formation() {
+        return formation;
+    }
+
+    // 自機弾・敵弾を半分ずつ画面に散らす（ベンチマーク・負荷確認用。敵弾は自機の列を避ける）。reset の後に呼ぶ
+    public void scatterBullets(int count) {
+        int playerLeft = player.x - 8, playerRight = player.x + player.width + 8;
+        for (int i = 0; i < count; i++) {
+            int x = (i * 37) % (WIDTH - 4);
+            if (i % 2 == 0) {
+                bullets.add(x, HEIGHT - 100 - (i * 13) % 300, 4, 10, 8);
+            } else {
+                if (x + 4 > playerLeft && x < playerRight) x = (x + 120) % (WIDTH - 4);
+                enemyBullets.add(x, 60 + (i * 11) % 300, 4, 10, -6);
+            }
+        }
+    }
+
+    // 状態のチェックサム（同じシード・同じ入力で同じ値になることの確認用）
+    public long checksum() {
+        long h = 17;
+        h = h * 31 + tick;
+        h = h * 31 + random.state();
+        h = h * 31 + (gameOver ? 1 : 0) + (gameClear ? 2 : 0);
+        h = h * 31 + enemyDx;
+        h = h * 31 + lastShotTick;
+        h = h * 31 + lastEnemyShotTick;
+        if (player == null) return h;
+
+        h = h * 31 + player.x;
+        h = h * 31 + formation.originX();
+        h = h * 31 + formation.originY();
+        for (boolean alive : formation.alive) {
+            h = h * 31 + (alive ? 1 : 0);
+        }
+        h = hashBullets(h, bullets);
+        h = hashBullets(h, enemyBullets);
+        for (Barrier b : barriers.barriers) {
+            for (byte hp : b.hp) h = h * 31 + hp;
+        }
+        return h;
+    }
+
+    private static long hashBullets(long h, BulletPool pool) {
+        h = h * 31 + pool.count;
+        for (int i = 0; i < pool.count; i++) {
+            h = h * 31 + pool.x[i];
+            h = h * 31 + pool.y[i];
+        }
+        return h;
+    }
+
+    // java.awt.Rectangle#intersects と同じ判定（幅・高さが正の前提）
+    static boolean overlaps(int ax, int ay, int aw, int ah, int bx, int by, int bw, int bh) {
+        return ax < bx + bw && bx < ax + aw && ay < by + bh && by < ay + ah;
+    }
+}
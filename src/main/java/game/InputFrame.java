@@ -0,0 +1,55 @@
+package game;
+
+// 1ティック分の入力（Swing/AWT に依存しない）
+public final class InputFrame {
+
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int FIRE = 1 << 2;
+
+    public static final InputFrame NONE = new InputFrame(0);
+
+    // 組み合わせは8通りしかないので使い回す（ティック毎の new を避ける）
+    private static final InputFrame[] CACHE = new InputFrame[8];
+
+    static {
+        CACHE[0] = NONE;
+        for (int i = 1; i < CACHE.length; i++) {
+            CACHE[i] = new InputFrame(i);
+        }
+    }
+
+    final int bits;
+
+    private InputFrame(int bits) {
+        this.bits = bits;
+    }
+
+    public static InputFrame of(boolean left, boolean right, boolean fire) {
+        int bits = 0;
+        if (left) bits |= LEFT;
+        if (right) bits |= RIGHT;
+        if (fire) bits |= FIRE;
+        return CACHE[bits];
+    }
+
+    public static InputFrame ofBits(int bits) {
+        return CACHE[bits & 7];
+    }
+
+    public int bits() {
+        return bits;
+    }
+
+    public boolean left() {
+        return (bits & LEFT) != 0;
+    }
+
+    public boolean right() {
+        return (bits & RIGHT) != 0;
+    }
+
+    public boolean fire() {
+        return (bits & FIRE) != 0;
+    }
+}
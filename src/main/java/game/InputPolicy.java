@@ -0,0 +1,68 @@
+package game;
+
+// ヘッドレス実行で入力を決める（自動操縦）
+public interface InputPolicy {
+
+    // このティックの入力。world は読むだけ
+    InputFrame next(GameWorld world);
+
+    // 何もせず撃ち続ける
+    static InputPolicy idle() {
+        return world -> InputFrame.of(false, false, true);
+    }
+
+    // ランダムに左右へ動きながら撃つ（seed が同じなら同じ動き）
+    static InputPolicy random(long seed) {
+        GameRandom random = new GameRandom(seed);
+        int[] hold = {0, 0};   // {残りティック, 入力ビット}
+        return world -> {
+            if (hold[0]-- <= 0) {
+                hold[0] = 10 + random.nextInt(30);
+                hold[1] = random.nextInt(3) | InputFrame.FIRE;   // 0:停止 1:左 2:右
+            }
+            return InputFrame.ofBits(hold[1]);
+        };
+    }
+
+    // 近くの敵弾を避け、それ以外は一番近い列の下にいる敵へ寄りながら撃つ
+    static InputPolicy tracking() {
+        return world -> {
+            Player p = world.player;
+            int center = p.x + p.width / 2;
+
+            // 自機の真上 120px 以内に落ちてくる敵弾があれば逃げる
+            BulletPool eb = world.enemyBullets;
+            for (int i = 0; i < eb.count; i++) {
+                int bx = eb.x[i] + eb.width[i] / 2;
+                int dy = p.y - (eb.y[i] + eb.height[i]);
+                if (dy >= 0 && dy < 120 && Math.abs(bx - center) < p.width / 2 + 8) {
+                    boolean goLeft = bx >= center ? p.x > 0 : p.x + p.width >= GameWorld.WIDTH;
+                    return InputFrame.of(goLeft, !goLeft, true);
+                }
+            }
+
+            Formation f = world.formation;
+            int best = Integer.MAX_VALUE, target = center;
+            for (int c = 0; c < f.cols; c++) {
+                int e = f.lowest(c);
+                if (e < 0) continue;
+                int ex = f.worldX(e) + f.width[e] / 2;
+                if (Math.abs(ex - center) < best) {
+                    best = Math.abs(ex - center);
+                    target = ex;
+                }
+            }
+            int diff = target - center;
+            return InputFrame.of(diff < -3, diff > 3, true);
+        };
+    }
+
+    static InputPolicy named(String name, long seed) {
+        return switch (name) {
+            case "idle" -> idle();
+            case "random" -> random(seed);
+            case "tracking" -> tracking();
+            default -> throw new IllegalArgumentException("unknown policy: " + name + " (idle, random, tracking)");
+        };
+    }
+}
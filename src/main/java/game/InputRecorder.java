@@ -0,0 +1,102 @@
+package game;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// ティックごとの入力を小さなバイナリに記録する（再現・ベンチマーク用。読むのは InputReplay）
+//
+// 形式（ビッグエンディアン）:
+//   ヘッダ   "SIRP" / 版数(1) / 1ティックの長さ(long, ns) / GameConfig の値(int × 9)
+//   RESET    0x80, シード(long)                 … S での開始・R でのリスタート
+//   RUN      入力ビット(0x00〜0x07), ティック数(LEB128) … 同じ入力が続いた長さ（入力が変わった所だけ記録）
+//   CHECK    0x40, ティック数(long), チェックサム(long) … ゲーム終了時の状態（再生結果の照合用）
+public class InputRecorder implements Closeable {
+
+    static final int MAGIC = 0x53495250;   // "SIRP"
+    static final int VERSION = 1;
+
+    static final int TAG_RESET = 0x80;
+    static final int TAG_CHECK = 0x40;
+    static final int INPUT_MASK = 0x07;
+
+    private final DataOutputStream out;
+    private int runBits = -1;
+    private long runLength = 0;
+    private boolean closed = false;
+
+    // stepNanos: 記録するシミュレーションの1ティックの長さ（再生の速さに使う）
+    public InputRecorder(Path path, GameConfig config, long stepNanos) throws IOException {
+        this(Files.newOutputStream(path), config, stepNanos);
+    }
+
+    public InputRecorder(OutputStream stream, GameConfig config, long stepNanos) throws IOException {
+        if (stepNanos <= 0) throw new IllegalArgumentException("stepNanos must be > 0: " + stepNanos);
+        out = new DataOutputStream(new BufferedOutputStream(stream, 16 * 1024));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(stepNanos);
+        out.writeInt(config.enemyRows);
+        out.writeInt(config.enemyCols);
+        out.writeInt(config.enemyDx);
+        out.writeInt(config.enemyStepDown);
+        out.writeInt(config.shotInterval);
+        out.writeInt(config.enemyShotInterval);
+        out.writeInt(config.enemyVolley);
+        out.writeInt(config.playerVolley);
+        out.writeInt(config.barrierCount);
+    }
+
+    public synchronized void reset(long seed) throws IOException {
+        if (closed) return;
+        flushRun();
+        out.writeByte(TAG_RESET);
+        out.writeLong(seed);
+    }
+
+    // 1ティック分の入力。同じ入力が続く間は数えるだけで何も書かない
+    public synchronized void tick(int bits) throws IOException {
+        if (closed) return;
+        bits &= INPUT_MASK;
+        if (bits == runBits) {
+            runLength++;
+            return;
+        }
+        flushRun();
+        runBits = bits;
+        runLength = 1;
+    }
+
+    public synchronized void check(long tick, long checksum) throws IOException {
+        if (closed) return;
+        flushRun();
+        out.writeByte(TAG_CHECK);
+        out.writeLong(tick);
+        out.writeLong(checksum);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        flushRun();
+        closed = true;
+        out.close();
+    }
+
+    private void flushRun() throws IOException {
+        if (runLength == 0) return;
+        out.writeByte(runBits);
+        long n = runLength;
+        while ((n & ~0x7FL) != 0) {
+            out.writeByte((int) ((n & 0x7F) | 0x80));
+            n >>>= 7;
+        }
+        out.writeByte((int) n);
+        runBits = -1;
+        runLength = 0;
+    }
+}
@@ -0,0 +1,135 @@
+package game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// InputRecorder の記録をメモリマップで読む
+// next() で1つずつ進め、TICK なら bits()、RESET なら seed()、CHECK なら checkTick() / checksum() を読む
+public class InputReplay implements Closeable {
+
+    public static final int END = 0;
+    public static final int TICK = 1;
+    public static final int RESET = 2;
+    public static final int CHECK = 3;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final GameConfig config = new GameConfig();
+    private final long stepNanos;
+    private final int dataStart;
+
+    private int bits;
+    private long remaining;       // 今の RUN の残りティック数
+    private long seed;
+    private long checkTick, checksum;
+
+    public InputReplay(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        try {
+            if (buffer.getInt() != InputRecorder.MAGIC) throw new IOException("not an input recording: " + path);
+            int version = buffer.get();
+            if (version != InputRecorder.VERSION) throw new IOException("unsupported recording version: " + version);
+            stepNanos = buffer.getLong();
+            if (stepNanos <= 0) throw new IOException("corrupt recording: step " + stepNanos + "ns");
+            config.enemyRows = buffer.getInt();
+            config.enemyCols = buffer.getInt();
+            config.enemyDx = buffer.getInt();
+            config.enemyStepDown = buffer.getInt();
+            config.shotInterval = buffer.getInt();
+            config.enemyShotInterval = buffer.getInt();
+            config.enemyVolley = buffer.getInt();
+            config.playerVolley = buffer.getInt();
+            config.barrierCount = buffer.getInt();
+            config.validate();
+        } catch (BufferUnderflowException e) {
+            channel.close();
+            throw new IOException("truncated recording header: " + path, e);
+        } catch (IllegalArgumentException e) {
+            channel.close();
+            throw new IOException("invalid config in recording: " + path + ": " + e.getMessage(), e);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        dataStart = buffer.position();
+    }
+
+    // 記録時の設定
+    public GameConfig config() {
+        return config.copy();
+    }
+
+    // 記録時の1ティックの長さ（ns）
+    public long stepNanos() {
+        return stepNanos;
+    }
+
+    public int next() throws IOException {
+        if (remaining > 0) {
+            remaining--;
+            return TICK;
+        }
+        if (!buffer.hasRemaining()) return END;
+        try {
+            int tag = buffer.get() & 0xFF;
+            if (tag == InputRecorder.TAG_RESET) {
+                seed = buffer.getLong();
+                return RESET;
+            }
+            if (tag == InputRecorder.TAG_CHECK) {
+                checkTick = buffer.getLong();
+                checksum = buffer.getLong();
+                return CHECK;
+            }
+            if ((tag & ~InputRecorder.INPUT_MASK) != 0) throw new IOException("corrupt recording: tag " + tag);
+
+            bits = tag;
+            long n = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = buffer.get() & 0xFF;
+                n |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            if (n <= 0) throw new IOException("corrupt recording: empty run");
+            remaining = n - 1;
+            return TICK;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("truncated recording", e);
+        }
+    }
+
+    // 先頭から読み直す
+    public void rewind() {
+        buffer.position(dataStart);
+        remaining = 0;
+    }
+
+    public int bits() {
+        return bits;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    public long checkTick() {
+        return checkTick;
+    }
+
+    public long checksum() {
+        return checksum;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,58 @@
+package game;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 固定長・ロックフリーの int キュー（書き手は複数スレッド可、読み手は1スレッド）
+// 各スロットに通し番号を持たせ、書き手は CAS で書き込み位置を確保する。offer / poll とも割り当てを行わない
+public class IntRingQueue {
+
+    public static final int EMPTY = Integer.MIN_VALUE;
+
+    private final int mask;
+    private final int[] values;
+    private final AtomicLongArray sequence;
+    private final AtomicLong tail = new AtomicLong();
+    private long head = 0;   // 読み手専用
+
+    public IntRingQueue(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        mask = capacity - 1;
+        values = new int[capacity];
+        sequence = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequence.set(i, i);
+        }
+    }
+
+    // 満杯なら false（値は捨てられる）
+    public boolean offer(int value) {
+        while (true) {
+            long pos = tail.get();
+            int index = (int) pos & mask;
+            long diff = sequence.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    values[index] = value;
+                    sequence.set(index, pos + 1);   // 読み手に公開
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+            // diff > 0: 他の書き手に先を越された。やり直す
+        }
+    }
+
+    // 空なら EMPTY
+    public int poll() {
+        int index = (int) head & mask;
+        if (sequence.get(index) != head + 1) return EMPTY;
+        int value = values[index];
+        sequence.set(index, head + values.length);   // 書き手に返す
+        head++;
+        return value;
+    }
+}
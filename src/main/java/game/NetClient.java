@@ -0,0 +1,81 @@
+package game;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.io.IOException;
+import java.util.Properties;
+
+// GameServer につないで遊ぶ・観戦するウィンドウ
+//
+//   java -cp space-invaders.jar game.NetClient --host localhost --port 7777 --session 1
+//   java -cp space-invaders.jar game.NetClient --session 1 --spectate
+//
+// セッションで最初につないだ人が自機を操作し、後から来た人（と --spectate）は観戦になる
+public class NetClient extends JFrame implements KeyListener {
+
+    private final GameClient client;
+    private final GameRenderer renderer = new GameRenderer();
+    private final ActiveCanvas canvas;
+
+    private boolean leftPressed, rightPressed, spacePressed;
+
+    public static void main(String[] args) throws IOException {
+        Properties p = GameConfig.parseArgs(args);
+        String host = p.getProperty("host", "localhost");
+        int port = GameConfig.intValue(p, "port", NetProtocol.DEFAULT_PORT, 1);
+        int session = GameConfig.intValue(p, "session", 1, 0);
+        boolean spectate = Boolean.parseBoolean(p.getProperty("spectate", "false"));
+
+        GameClient client = new GameClient(host, port, session, !spectate);
+        client.start();
+        SwingUtilities.invokeLater(() -> new NetClient(client, session));
+    }
+
+    public NetClient(GameClient client, int session) {
+        this.client = client;
+        setTitle("Space Invaders - session " + session);
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setResizable(false);
+
+        // 受信するまでは START画面（"接続中"の代わり）
+        canvas = new ActiveCanvas(client, renderer, () -> false, 3, FramePacer.fromSystemProperty("invaders.fps"));
+        canvas.setPreferredSize(new Dimension(GameWorld.WIDTH, GameWorld.HEIGHT));
+        canvas.addKeyListener(this);
+        add(canvas);
+        pack();
+
+        setLocationRelativeTo(null);
+        setVisible(true);
+        canvas.requestFocusInWindow();
+    }
+
+    @Override
+    public void keyPressed(KeyEvent e) {
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_LEFT -> leftPressed = true;
+            case KeyEvent.VK_RIGHT -> rightPressed = true;
+            case KeyEvent.VK_SPACE -> spacePressed = true;
+            case KeyEvent.VK_R -> client.requestReset();   // 終了していなければサーバーが無視する
+        }
+        updateInput();
+    }
+
+    @Override
+    public void keyReleased(KeyEvent e) {
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_LEFT -> leftPressed = false;
+            case KeyEvent.VK_RIGHT -> rightPressed = false;
+            case KeyEvent.VK_SPACE -> spacePressed = false;
+        }
+        updateInput();
+    }
+
+    private void updateInput() {
+        if (client.isPilot()) client.setInput(InputFrame.of(leftPressed, rightPressed, spacePressed).bits);
+    }
+
+    @Override
+    public void keyTyped(KeyEvent e) {}
+}
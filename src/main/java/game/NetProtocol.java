@@ -0,0 +1,70 @@
+package game;
+
+import java.nio.ByteBuffer;
+
+// ネット対戦（観戦）用のメッセージ形式
+//
+// 1メッセージ = 長さ(int、種類以降のバイト数) / 種類(byte) / 本体。TCP 上に並べて送る
+//
+//   C→S HELLO     セッション番号(int), 操作したいか(byte 1/0)
+//   S→C WELCOME   役割(byte PILOT/SPECTATOR), 1ティックの長さ(long, ns), GameConfig の値(int × 9)
+//   C→S INPUT     入力ビット(byte)
+//   C→S RESET     なし（操作役のみ。ゲーム終了後のリスタート）
+//   S→C FULL      状態の全体（SnapshotCodec）。接続直後・リスタート時・送りそびれた後
+//   S→C DELTA     前回送った状態からの差分（SnapshotCodec）
+final class NetProtocol {
+
+    static final int DEFAULT_PORT = 7777;
+
+    static final byte HELLO = 1;
+    static final byte WELCOME = 2;
+    static final byte INPUT = 3;
+    static final byte RESET = 4;
+    static final byte FULL = 5;
+    static final byte DELTA = 6;
+
+    static final byte PILOT = 1;
+    static final byte SPECTATOR = 2;
+
+    static final int HEADER = 5;   // 長さ + 種類
+
+    private NetProtocol() {}
+
+    // メッセージの書き始め。戻り値は endFrame に渡す
+    static int beginFrame(ByteBuffer out, byte type) {
+        int start = out.position();
+        out.putInt(0);
+        out.put(type);
+        return start;
+    }
+
+    static void endFrame(ByteBuffer out, int start) {
+        out.putInt(start, out.position() - start - 4);
+    }
+
+    static void writeConfig(ByteBuffer out, GameConfig c) {
+        out.putInt(c.enemyRows);
+        out.putInt(c.enemyCols);
+        out.putInt(c.enemyDx);
+        out.putInt(c.enemyStepDown);
+        out.putInt(c.shotInterval);
+        out.putInt(c.enemyShotInterval);
+        out.putInt(c.enemyVolley);
+        out.putInt(c.playerVolley);
+        out.putInt(c.barrierCount);
+    }
+
+    static GameConfig readConfig(ByteBuffer in) {
+        GameConfig c = new GameConfig();
+        c.enemyRows = in.getInt();
+        c.enemyCols = in.getInt();
+        c.enemyDx = in.getInt();
+        c.enemyStepDown = in.getInt();
+        c.shotInterval = in.getInt();
+        c.enemyShotInterval = in.getInt();
+        c.enemyVolley = in.getInt();
+        c.playerVolley = in.getInt();
+        c.barrierCount = in.getInt();
+        return c;
+    }
+}
@@ -0,0 +1,154 @@
+package game;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+// 弾の移動と当たり判定の下調べを ForkJoinPool で並列に行う（GameWorld#setParallel で有効にする）
+//
+// 1. 弾を x 座標で並べ、弾の数がほぼ同じになるよう縦の帯（画面の列）に分ける
+// 2. 帯ごとのタスクが自分の弾を動かし、盾・敵・自機・画面外のどれかに当たりうるかを調べる
+//    （敵・盾は読むだけで、書くのは自分の弾の欄だけなので、帯どうしは干渉しない）
+// 3. GameWorld が逐次版と同じ順番で弾を回し、当たりうる弾だけ逐次版と同じ処理で撃墜・盾の削りを確定する
+//
+// ティックの途中で敵・盾は減る一方なので、下調べで何にも当たらない弾は逐次版でも何にも当たらない。
+// そのため結果（チェックサム・通知の順番）は逐次版と完全に同じになる
+// 弾が threshold 未満の時は分けるほうが高くつくので何もしない（GameWorld が逐次版で回す）
+//
+// 並列になるのは下調べ（移動と当たりうるかの判定）だけで、撃墜・盾の削りの確定はティックのスレッドで逐次に行う。
+// 並べ替え・帯分け・合流の手間が増えるので、コアが1つの環境や弾が threshold 前後しかない時は逐次版より遅い。
+// 複数コアでどれだけ速くなるかはまだ測っていない（ParallelTickBenchmark で確かめてから -Dinvaders.threads を使うこと）
+public class ParallelPhases {
+
+    // 既定の threshold（これより弾が少ないと、分けて合流する手間のほうが大きい）
+    public static final int DEFAULT_THRESHOLD = 4096;
+
+    private static final int BUCKET_WIDTH = 8;              // x で並べる時の刻み
+    private static final int BUCKETS = GameWorld.WIDTH / BUCKET_WIDTH;
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    // 帯ごとのタスクと、それをまとめて投げるタスク（毎ティック作り直さずに使い回す）
+    private final Strip[] strips;
+    private final RecursiveAction root = new RecursiveAction() {
+        @Override
+        protected void compute() {
+            ForkJoinTask.invokeAll(strips);
+        }
+    };
+
+    // 下調べの結果（弾の番号ごと）
+    private int[] prevY = new int[64];
+    private boolean[] candidate = new boolean[64];
+
+    // x の順に並べた弾の番号
+    private int[] order = new int[64];
+    private final int[] bucketStart = new int[BUCKETS + 1];
+
+    // 今回の対象
+    private GameWorld world;
+    private BulletPool bullets;
+    private boolean enemy;
+
+    public ParallelPhases(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = Math.max(1, threshold);
+        strips = new Strip[Math.max(1, pool.getParallelism() * 4)];
+        for (int i = 0; i < strips.length; i++) strips[i] = new Strip();
+    }
+
+    // threads スレッドの専用プールで作る（threads が 1 以下なら並列にしないので null）
+    public static ParallelPhases ofThreads(int threads, int threshold) {
+        if (threads <= 1) return null;
+        return new ParallelPhases(new ForkJoinPool(threads), threshold);
+    }
+
+    public int threshold() {
+        return threshold;
+    }
+
+    // pool の弾をすべて1ティック分動かし、当たりうるかを調べる。弾が少なければ何もせず false
+    // enemy: 敵弾なら true（自機弾なら false）
+    boolean prepare(GameWorld world, BulletPool pool, boolean enemy) {
+        int n = pool.count;
+        if (n < threshold) return false;
+        if (prevY.length < n) grow(pool.x.length);
+
+        // x の順に並べる（計数ソート）
+        Arrays.fill(bucketStart, 0);
+        int[] x = pool.x;
+        for (int i = 0; i < n; i++) bucketStart[bucket(x[i])]++;
+        for (int b = 0, sum = 0; b <= BUCKETS; b++) {
+            int c = bucketStart[b];
+            bucketStart[b] = sum;
+            sum += c;
+        }
+        for (int i = 0; i < n; i++) order[bucketStart[bucket(x[i])]++] = i;
+
+        // 弾の数が同じになるよう帯に分ける
+        int s = strips.length;
+        for (int k = 0; k < s; k++) {
+            Strip strip = strips[k];
+            strip.reinitialize();
+            strip.from = (int) ((long) n * k / s);
+            strip.to = (int) ((long) n * (k + 1) / s);
+        }
+
+        this.world = world;
+        this.bullets = pool;
+        this.enemy = enemy;
+        root.reinitialize();
+        this.pool.invoke(root);
+        this.world = null;
+        this.bullets = null;
+        return true;
+    }
+
+    // i 番目の弾の移動前の y
+    int prevY(int i) {
+        return prevY[i];
+    }
+
+    // i 番目の弾が何かに当たりうるか
+    boolean candidate(int i) {
+        return candidate[i];
+    }
+
+    // BulletPool#remove(i) と同じように、末尾の弾の結果を i に移す
+    void removed(int i, int last) {
+        prevY[i] = prevY[last];
+        candidate[i] = candidate[last];
+    }
+
+    private static int bucket(int px) {
+        int b = px / BUCKET_WIDTH;
+        return b < 0 ? 0 : Math.min(b, BUCKETS - 1);
+    }
+
+    private void grow(int capacity) {
+        prevY = new int[capacity];
+        candidate = new boolean[capacity];
+        order = new int[capacity];
+    }
+
+    // x の順で [from, to) 番目の弾
+    private final class Strip extends RecursiveAction {
+        int from, to;
+
+        @Override
+        protected void compute() {
+            GameWorld w = world;
+            BulletPool pool = bullets;
+            boolean downward = enemy;
+            for (int k = from; k < to; k++) {
+                int i = order[k];
+                int py = pool.y[i];
+                pool.y[i] = py - pool.speed[i];
+                prevY[i] = py;
+                candidate[i] = downward ? w.enemyBulletMayHit(i, py) : w.playerBulletMayHit(i, py);
+            }
+        }
+    }
+}
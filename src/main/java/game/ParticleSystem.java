@@ -0,0 +1,181 @@
+package game;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+// 爆発・破片のパーティクル（見た目だけ。ゲームの状態・チェックサムには関わらない）
+//
+// 粒は固定長の並列配列に持ち、寿命が尽きたら末尾と入れ替えて消す（swap-remove）。満杯なら新しい粒は捨てる。
+// 描画は画面と同じ大きさの ARGB 画像に直接ピクセルを書き、前回と今回に粒があった範囲だけを消して
+// drawImage 1回で重ねる（粒ごとの fillRect / setColor をしない）。emit / update / draw とも割り当てなし
+//
+// すべて描画スレッドだけから呼ぶ（シミュレーションの事象は GameEventBus 経由で描画スレッドが受け取って emit する）
+public class ParticleSystem {
+
+    public static final int ENEMY_KILLED = 0;
+    public static final int BARRIER_HIT = 1;
+    public static final int PLAYER_DOWN = 2;
+
+    private static final float GRAVITY = 240f;        // ピクセル/秒^2
+    private static final long MAX_STEP_NANOS = 50_000_000L;
+
+    final int capacity;
+    int count = 0;
+    private int limit;      // 今の上限（品質を下げると capacity より小さくなる）
+    final float[] x, y, vx, vy, life, maxLife;
+    final int[] rgb;
+
+    private final BufferedImage layer;
+    private final int[] pixels;
+    private final int width, height;
+
+    // 前回粒を書いた範囲（次のフレームで消す）
+    private int dirtyX0, dirtyY0, dirtyX1 = -1, dirtyY1 = -1;
+
+    private long lastNanos = -1;
+    private int seed = 0x2545F491;
+
+    public ParticleSystem(int capacity, int width, int height) {
+        this.capacity = capacity;
+        this.limit = capacity;
+        this.width = width;
+        this.height = height;
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        life = new float[capacity];
+        maxLife = new float[capacity];
+        rgb = new int[capacity];
+
+        layer = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+        pixels = ((DataBufferInt) layer.getRaster().getDataBuffer()).getData();
+    }
+
+    // (px, py) に kind の粒をまとめて出す（上限を超える分は捨てる）。動き始めるのは次の update から
+    public void emit(int kind, int px, int py) {
+        switch (kind) {
+            case ENEMY_KILLED -> burst(px, py, 32, 60, 220, 0.6f, 0x66FF66, 0xFFFF66);
+            case BARRIER_HIT -> burst(px, py, 8, 30, 120, 0.35f, 0x33CC33, 0x99FF99);
+            case PLAYER_DOWN -> burst(px, py, 200, 40, 320, 1.4f, 0x66FFFF, 0xFFFFFF);
+            default -> {
+            }
+        }
+    }
+
+    // 今ある粒を消す
+    public void clear() {
+        count = 0;
+    }
+
+    // 粒の上限を変える（描画スレッドから。超えた分は次の update で配列の後ろから捨てる）
+    public void setLimit(int limit) {
+        this.limit = Math.max(0, Math.min(limit, capacity));
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // 前回からの経過時間だけ粒を動かす
+    public void update(long now) {
+        if (count > limit) count = limit;
+
+        long step = lastNanos < 0 ? 0 : Math.min(now - lastNanos, MAX_STEP_NANOS);
+        lastNanos = now;
+        if (step <= 0) return;
+        float dt = step / 1e9f;
+
+        for (int i = 0; i < count; ) {
+            float l = life[i] - dt;
+            if (l <= 0) {
+                remove(i);
+                continue;
+            }
+            life[i] = l;
+            vy[i] += GRAVITY * dt;
+            x[i] += vx[i] * dt;
+            y[i] += vy[i] * dt;
+            i++;
+        }
+    }
+
+    public void draw(Graphics2D g2) {
+        // 前回書いた範囲を消す
+        for (int py = dirtyY0; py <= dirtyY1; py++) {
+            Arrays.fill(pixels, py * width + dirtyX0, py * width + dirtyX1 + 1, 0);
+        }
+        if (count == 0) {
+            dirtyY1 = -1;
+            return;
+        }
+
+        int x0 = width, y0 = height, x1 = -1, y1 = -1;
+        for (int i = 0; i < count; i++) {
+            int px = (int) x[i], py = (int) y[i];
+            if (px < 0 || py < 0 || px >= width - 1 || py >= height - 1) continue;
+
+            // 残り寿命で薄くする（乗算済みアルファ）
+            int a = (int) (255 * life[i] / maxLife[i]);
+            int c = rgb[i];
+            int argb = a << 24 | ((c >>> 16 & 0xFF) * a >> 8) << 16 | ((c >>> 8 & 0xFF) * a >> 8) << 8 | (c & 0xFF) * a >> 8;
+
+            int o = py * width + px;
+            pixels[o] = argb;
+            pixels[o + 1] = argb;
+            pixels[o + width] = argb;
+            pixels[o + width + 1] = argb;
+
+            if (px < x0) x0 = px;
+            if (py < y0) y0 = py;
+            if (px + 1 > x1) x1 = px + 1;
+            if (py + 1 > y1) y1 = py + 1;
+        }
+        dirtyX0 = x0;
+        dirtyY0 = y0;
+        dirtyX1 = x1;
+        dirtyY1 = y1;
+        if (x1 < 0) return;
+
+        g2.drawImage(layer, x0, y0, x1 + 1, y1 + 1, x0, y0, x1 + 1, y1 + 1, null);
+    }
+
+    private void burst(int px, int py, int n, float minSpeed, float maxSpeed, float lifetime, int color1, int color2) {
+        for (int k = 0; k < n && count < limit; k++) {
+            int i = count++;
+            float angle = nextFloat() * (float) (Math.PI * 2);
+            float speed = minSpeed + nextFloat() * (maxSpeed - minSpeed);
+            x[i] = px;
+            y[i] = py;
+            vx[i] = (float) Math.cos(angle) * speed;
+            vy[i] = (float) Math.sin(angle) * speed - maxSpeed * 0.3f;   // 少し上向きに飛ばす
+            float l = lifetime * (0.5f + nextFloat() * 0.5f);
+            life[i] = l;
+            maxLife[i] = l;
+            rgb[i] = (k & 1) == 0 ? color1 : color2;
+        }
+    }
+
+    private void remove(int i) {
+        int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        vx[i] = vx[last];
+        vy[i] = vy[last];
+        life[i] = life[last];
+        maxLife[i] = maxLife[last];
+        rgb[i] = rgb[last];
+    }
+
+    // xorshift（見た目だけなので GameWorld の乱数とは別）
+    private float nextFloat() {
+        int s = seed;
+        s ^= s << 13;
+        s ^= s >>> 17;
+        s ^= s << 5;
+        seed = s;
+        return (s >>> 8) / (float) (1 << 24);
+    }
+}
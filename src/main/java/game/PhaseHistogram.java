@@ -0,0 +1,65 @@
+package game;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 所要時間（ナノ秒）のヒストグラム。record() はロックもメモリ確保もしない
+//
+// 2のべき乗ごとに16分割した対数目盛り（誤差は 1/16 ≒ 6% 以内）。16ns 未満は 1ns 刻み、上限は約 18 分
+// 書き手は何スレッドでもよい。drainTo() は集計スレッド1つだけが呼ぶ
+public class PhaseHistogram {
+
+    static final int SUB_BITS = 4;
+    static final int SUB_COUNT = 1 << SUB_BITS;                 // 16
+    static final int MAX_EXPONENT = 40;                          // 2^40ns ≒ 18分
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.getAndIncrement(bucket(nanos));
+        long m = max.get();
+        while (nanos > m && !max.compareAndSet(m, nanos)) {
+            m = max.get();
+        }
+    }
+
+    // 今までの記録を into に移して空にする（ティックの途中でも一貫性は問わない。漏れた分は次回に入る）
+    // 戻り値は最大値
+    public long drainTo(long[] into) {
+        for (int i = 0; i < BUCKETS; i++) {
+            into[i] = counts.getAndSet(i, 0);
+        }
+        return max.getAndSet(0);
+    }
+
+    static int bucket(long nanos) {
+        if (nanos < SUB_COUNT) return (int) nanos;
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+        int sub = (int) (nanos >>> (exponent - SUB_BITS)) - SUB_COUNT;
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    // バケットに入る値の上限
+    static long upperBound(int bucket) {
+        if (bucket < SUB_COUNT) return bucket;
+        int exponent = bucket / SUB_COUNT + SUB_BITS - 1;
+        long sub = bucket % SUB_COUNT + SUB_COUNT;
+        return ((sub + 1) << (exponent - SUB_BITS)) - 1;
+    }
+
+    // counts の中で割合 q（0.0〜1.0）にあたる値（バケットの上限で返す）
+    static long percentile(long[] counts, long total, double q) {
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(total * q));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return upperBound(i);
+        }
+        return upperBound(counts.length - 1);
+    }
+}
@@ -0,0 +1,37 @@
+package game;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// JFR 用: 集計期間ごとの1フェーズ分の所要時間
+// java -XX:StartFlightRecording=filename=game.jfr ... で記録し、JMC などで "Space Invaders" の下に出る
+@Name("game.PhaseTiming")
+@Label("Phase Timing")
+@Category("Space Invaders")
+@Description("Per-phase tick/render timings aggregated over one reporting period")
+@StackTrace(false)
+public class PhaseTimingEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Samples")
+    long count;
+
+    @Label("p50")
+    @Timespan(Timespan.NANOSECONDS)
+    long p50;
+
+    @Label("p99")
+    @Timespan(Timespan.NANOSECONDS)
+    long p99;
+
+    @Label("Max")
+    @Timespan(Timespan.NANOSECONDS)
+    long max;
+}
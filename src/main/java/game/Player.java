@@ -1,11 +1,14 @@
-import java.awt.*;
+package game;
 
 public class Player {
     int x, y, width, height;
-    Color color = Color.CYAN;
+
+    // 1ティック前の x（描画の補間用）
+    int prevX;
 
     public Player(int x, int y, int w, int h) {
         this.x = x;
+        this.prevX = x;
         this.y = y;
         this.width = w;
         this.height = h;
@@ -16,14 +19,4 @@ public class Player {
         if (x < 0) x = 0;
         if (x + width > panelWidth) x = panelWidth - width;
     }
-
-    public void draw(Graphics2D g2) {
-        g2.setColor(color);
-        g2.fillRect(x, y, width, height);
-        g2.fillRect(x + width / 2 - 5, y - 10, 10, 10);
-    }
-
-    public Rectangle getBounds() {
-        return new Rectangle(x, y, width, height);
-    }
 }
\ No newline at end of file
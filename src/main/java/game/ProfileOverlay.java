@@ -0,0 +1,79 @@
+package game;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// FrameProfiler の集計結果を画面左下に重ねる（F3 で表示切り替え）
+// 集計は1秒に1回なので、画像も新しい Report が来た時か品質の段階が変わった時だけ描き直す
+// 下に品質の段階と、描画の間隔（フレーム時間の平均・標準偏差など）を1行ずつ足す
+public class ProfileOverlay {
+
+    private static final Font FONT = new Font("Monospaced", Font.PLAIN, 12);
+    private static final Color PANEL = new Color(0, 0, 0, 170);
+
+    private final FrameProfiler profiler;
+
+    private BufferedImage image;
+    private FontMetrics metrics;
+    private FrameProfiler.Report drawn;
+    private QualityGovernor.Level drawnLevel;
+
+    public ProfileOverlay(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    // governor / pacer が null ならその行は空けておく
+    public void draw(Graphics2D g2, QualityGovernor governor, FramePacer pacer) {
+        FrameProfiler.Report report = profiler.report();
+        if (report == null) return;
+        QualityGovernor.Level level = governor != null ? governor.level() : null;
+        if (report != drawn || level != drawnLevel) {
+            drawn = report;
+            drawnLevel = level;
+            repaint(report, governor, pacer);
+        }
+        g2.drawImage(image, 8, GameWorld.HEIGHT - image.getHeight() - 8, null);
+    }
+
+    private void repaint(FrameProfiler.Report report, QualityGovernor governor, FramePacer pacer) {
+        FrameProfiler.Phase[] phases = FrameProfiler.PHASES;
+        FramePacer.Stats pacing = pacer != null ? pacer.stats() : null;
+        String governorLine = governor != null ? governor.toString() : null;
+        String pacingLine = pacing != null ? "pacing " + pacing : null;
+
+        // 幅は一番長い行に合わせる（足りなくなった時だけ作り直す）
+        if (metrics == null) {
+            BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = scratch.createGraphics();
+            metrics = g.getFontMetrics(FONT);
+            g.dispose();
+        }
+        int width = 0;
+        for (FrameProfiler.Phase phase : phases) width = Math.max(width, metrics.stringWidth(report.line(phase)));
+        if (governorLine != null) width = Math.max(width, metrics.stringWidth(governorLine));
+        if (pacingLine != null) width = Math.max(width, metrics.stringWidth(pacingLine));
+        width += 12;
+        if (image == null || image.getWidth() < width) {
+            int h = metrics.getHeight() * (phases.length + 2) + 8;
+            image = RenderCache.createCompatibleImage(width, h, Transparency.TRANSLUCENT);
+        }
+
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.setColor(PANEL);
+        g.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g.setComposite(AlphaComposite.SrcOver);
+        g.setFont(FONT);
+        g.setColor(Color.WHITE);
+        FontMetrics fm = g.getFontMetrics();
+        int y = 4 + fm.getAscent();
+        for (FrameProfiler.Phase phase : phases) {
+            g.drawString(report.line(phase), 6, y);
+            y += fm.getHeight();
+        }
+        if (governorLine != null) g.drawString(governorLine, 6, y);
+        y += fm.getHeight();
+        if (pacingLine != null) g.drawString(pacingLine, 6, y);
+        g.dispose();
+    }
+}
@@ -0,0 +1,152 @@
+package game;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+// フレーム予算に合わせて描画の品質を上げ下げする
+//
+// 1フレームの所要時間（描画の開始から画面に出し終えるまで + その間の update。締め切りまで待つ時間は除く）を
+// 予算と比べ、WINDOW フレームごとに判定する
+//   - 予算を超えたフレームが1割を超えたら1段下げる
+//   - 平均が予算の半分未満で超過なしの区間が続いたら1段上げる
+//     上げた直後にまた下げた場合は、次に上げるまでに必要な区間を倍にする（上げ下げを繰り返さないように）
+// recordUpdate はシミュレーション側のどのスレッドから呼んでもよい。frame は描画スレッドだけ。どちらも割り当てなし
+public class QualityGovernor {
+
+    // 品質の段階（上ほど綺麗で重い）
+    public enum Level {
+        HIGH(65536, true, 1, true),
+        MEDIUM(16384, true, 1, false),
+        LOW(4096, true, 4, false),
+        MINIMAL(1024, false, 8, false);
+
+        final int particles;          // パーティクルの上限
+        final boolean background;     // 背景画像を描くか（描かない時は黒で塗る）
+        final int barrierRedrawEvery; // 削れた盾を描き直す間隔（フレーム）
+        final boolean smooth;         // アンチエイリアス・補間のヒントを品質優先にするか
+
+        Level(int particles, boolean background, int barrierRedrawEvery, boolean smooth) {
+            this.particles = particles;
+            this.background = background;
+            this.barrierRedrawEvery = barrierRedrawEvery;
+            this.smooth = smooth;
+        }
+    }
+
+    static final Level[] LEVELS = Level.values();
+
+    static final int WINDOW = 30;
+    static final int UP_WINDOWS = 3;
+    static final int MAX_UP_WINDOWS = 48;
+
+    private final long budgetNanos;
+    private final boolean adaptive;
+
+    private volatile Level level;
+    private int changes = 0;
+
+    // 前のフレームから今までの update の所要時間
+    private final AtomicLong pendingUpdateNanos = new AtomicLong();
+
+    // 今の区間の集計
+    private int frames = 0;
+    private int over = 0;
+    private long total = 0;
+    private int calmWindows = 0;
+    private int upWindows = UP_WINDOWS;
+    private boolean justRaised = false;
+
+    // adaptive でなければ start のまま変えない
+    public QualityGovernor(long budgetNanos, Level start, boolean adaptive) {
+        if (budgetNanos <= 0) throw new IllegalArgumentException("budgetNanos must be > 0");
+        this.budgetNanos = budgetNanos;
+        this.level = start;
+        this.adaptive = adaptive;
+    }
+
+    // -Dinvaders.quality=auto|high|medium|low|minimal と -Dinvaders.frameBudget=<ミリ秒>（既定 16.6）から作る
+    public static QualityGovernor fromSystemProperties() {
+        long budget = 16_600_000L;
+        String ms = System.getProperty("invaders.frameBudget");
+        if (ms != null) {
+            try {
+                budget = Math.max(1, (long) (Double.parseDouble(ms.trim()) * 1_000_000L));
+            } catch (NumberFormatException e) {
+                System.out.println("invalid invaders.frameBudget: " + ms);
+            }
+        }
+        String quality = System.getProperty("invaders.quality", "auto").trim();
+        if (quality.equalsIgnoreCase("auto")) return new QualityGovernor(budget, Level.HIGH, true);
+        try {
+            return new QualityGovernor(budget, Level.valueOf(quality.toUpperCase(Locale.ROOT)), false);
+        } catch (IllegalArgumentException e) {
+            System.out.println("invalid invaders.quality: " + quality);
+            return new QualityGovernor(budget, Level.HIGH, true);
+        }
+    }
+
+    public Level level() {
+        return level;
+    }
+
+    public long budgetNanos() {
+        return budgetNanos;
+    }
+
+    // 段階を変えた回数
+    public int changes() {
+        return changes;
+    }
+
+    // ティックを進めるのにかかった時間を足す
+    public void recordUpdate(long nanos) {
+        pendingUpdateNanos.addAndGet(nanos);
+    }
+
+    // 1フレーム出し終えた時に、描画の開始から show まで（転送を含む）にかかった時間を渡す
+    public void frame(long frameNanos) {
+        long cost = frameNanos + pendingUpdateNanos.getAndSet(0);
+        if (!adaptive) return;
+
+        frames++;
+        total += cost;
+        if (cost > budgetNanos) over++;
+        if (frames < WINDOW) return;
+
+        long average = total / frames;
+        int i = level.ordinal();
+        boolean raised = false;
+        boolean dropping = over * 10 > frames;
+        if (justRaised && !dropping) upWindows = UP_WINDOWS;   // 上げた段階で持ちこたえた
+        if (dropping) {
+            calmWindows = 0;
+            if (justRaised) upWindows = Math.min(upWindows * 2, MAX_UP_WINDOWS);
+            if (i < LEVELS.length - 1) change(LEVELS[i + 1], average);
+        } else if (over == 0 && average * 2 < budgetNanos) {
+            if (++calmWindows >= upWindows && i > 0) {
+                calmWindows = 0;
+                change(LEVELS[i - 1], average);
+                raised = true;
+            }
+        } else {
+            calmWindows = 0;
+        }
+        justRaised = raised;
+        frames = 0;
+        over = 0;
+        total = 0;
+    }
+
+    private void change(Level next, long average) {
+        System.out.printf(Locale.ROOT, "[quality] %s -> %s (frame avg=%.3fms budget=%.3fms)%n",
+                level, next, average / 1e6, budgetNanos / 1e6);
+        level = next;
+        changes++;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "quality=%s%s budget=%.1fms changes=%d",
+                level, adaptive ? "(auto)" : "", budgetNanos / 1e6, changes);
+    }
+}
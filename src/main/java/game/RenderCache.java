@@ -0,0 +1,148 @@
+package game;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// 描画で使う静的な画像・フォントのキャッシュ
+// 背景は画面と同じピクセル形式・画面サイズに一度だけ変換し、文字は値が変わった時だけ画像に描き直す。
+// 定常状態のフレームでは Font / String / 画像を作らない
+public class RenderCache {
+
+    public static final int WIDTH = GameWorld.WIDTH;
+    public static final int HEIGHT = GameWorld.HEIGHT;
+
+    private static final Font TITLE_FONT = new Font("Monospaced", Font.BOLD, 32);
+    private static final Font TEXT_FONT = new Font("Monospaced", Font.PLAIN, 16);
+
+    private final FontMetrics titleMetrics;
+    private final FontMetrics textMetrics;
+
+    // 変換済みの背景（無ければ null）
+    private volatile BufferedImage background;
+
+    private BufferedImage startScreen;
+    private BufferedImage gameOverText, gameClearText;
+
+    // HUD（残り敵数）
+    private BufferedImage hud;
+    private Graphics2D hudPainter;
+    private int hudValue = -1;
+
+    public RenderCache() {
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scratch.createGraphics();
+        titleMetrics = g.getFontMetrics(TITLE_FONT);
+        textMetrics = g.getFontMetrics(TEXT_FONT);
+        g.dispose();
+    }
+
+    // 読み込んだ画像を画面サイズ・画面のピクセル形式に変換して持つ
+    public void setBackground(BufferedImage source) {
+        if (source == null) {
+            background = null;
+            return;
+        }
+        BufferedImage image = createCompatibleImage(WIDTH, HEIGHT, Transparency.OPAQUE);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(source, 0, 0, WIDTH, HEIGHT, null);
+        g.dispose();
+        background = image;
+    }
+
+    public BufferedImage background() {
+        return background;
+    }
+
+    // START画面（タイトル + ヒント）
+    public BufferedImage startScreen() {
+        if (startScreen == null) {
+            BufferedImage image = createCompatibleImage(WIDTH, HEIGHT, Transparency.OPAQUE);
+            Graphics2D g = image.createGraphics();
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, WIDTH, HEIGHT);
+
+            g.setColor(Color.WHITE);
+            g.setFont(TITLE_FONT);
+            String title = "SPACE INVADERS";
+            g.drawString(title, (WIDTH - titleMetrics.stringWidth(title)) / 2, HEIGHT / 2 - 60);
+
+            // ★ヒント表示（任意）
+            g.setFont(TEXT_FONT);
+            String hint = "Press S to Start";
+            g.drawString(hint, (WIDTH - textMetrics.stringWidth(hint)) / 2, HEIGHT / 2 + 10);
+            g.dispose();
+            startScreen = image;
+        }
+        return startScreen;
+    }
+
+    public BufferedImage gameOverText() {
+        if (gameOverText == null) gameOverText = textImage("GAME OVER - Press R to Restart");
+        return gameOverText;
+    }
+
+    public BufferedImage gameClearText() {
+        if (gameClearText == null) gameClearText = textImage("YOU WIN! - Press R to Restart");
+        return gameClearText;
+    }
+
+    // 中央揃えのメッセージ画像の描画位置
+    public int centerX(BufferedImage text) {
+        return (WIDTH - text.getWidth()) / 2;
+    }
+
+    public int centerY() {
+        return HEIGHT / 2 - textMetrics.getAscent();
+    }
+
+    // 残り敵数。値が変わった時だけ描き直す
+    public BufferedImage hud(int enemies) {
+        if (hud == null) {
+            hud = createCompatibleImage(textMetrics.stringWidth("Enemies: 0000000"), textMetrics.getHeight(),
+                    Transparency.TRANSLUCENT);
+            hudPainter = hud.createGraphics();
+            hudPainter.setFont(TEXT_FONT);
+        }
+        if (enemies != hudValue) {
+            hudValue = enemies;
+            hudPainter.setComposite(AlphaComposite.Clear);
+            hudPainter.fillRect(0, 0, hud.getWidth(), hud.getHeight());
+            hudPainter.setComposite(AlphaComposite.SrcOver);
+            hudPainter.setColor(Color.WHITE);
+            hudPainter.drawString("Enemies: " + enemies, 0, textMetrics.getAscent());
+        }
+        return hud;
+    }
+
+    // HUD 画像を置く左上の座標（元の drawString(…, 20, 20) のベースラインに合わせる）
+    public int hudX() {
+        return 20;
+    }
+
+    public int hudY() {
+        return 20 - textMetrics.getAscent();
+    }
+
+    private BufferedImage textImage(String text) {
+        BufferedImage image = createCompatibleImage(Math.max(1, textMetrics.stringWidth(text)),
+                textMetrics.getHeight(), Transparency.TRANSLUCENT);
+        Graphics2D g = image.createGraphics();
+        g.setFont(TEXT_FONT);
+        g.setColor(Color.WHITE);
+        g.drawString(text, 0, textMetrics.getAscent());
+        g.dispose();
+        return image;
+    }
+
+    // 画面と同じピクセル形式の画像（Java2D がそのまま VRAM に載せられる）。ヘッドレスでは通常の ARGB
+    static BufferedImage createCompatibleImage(int w, int h, int transparency) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(w, h, transparency);
+        }
+        return new BufferedImage(w, h, transparency == Transparency.OPAQUE
+                ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+}
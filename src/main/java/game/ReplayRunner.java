@@ -0,0 +1,95 @@
+package game;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.locks.LockSupport;
+
+// 入力の記録を再シミュレーションする
+//
+//   java -cp space-invaders.jar game.ReplayRunner session.rec            … できるだけ速く
+//   java -cp space-invaders.jar game.ReplayRunner session.rec --realtime … 62.5Hz の実時間で
+//
+// 記録に含まれるチェックサムと再生結果を突き合わせ、食い違いがあれば報告する
+public class ReplayRunner {
+
+    public static final class Summary {
+        int games;
+        long ticks;
+        int checks, mismatches;
+
+        public long ticks() {
+            return ticks;
+        }
+
+        public int mismatches() {
+            return mismatches;
+        }
+
+        @Override
+        public String toString() {
+            return "games=" + games + " ticks=" + ticks + " checks=" + checks + " mismatches=" + mismatches;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("usage: ReplayRunner <recording> [--realtime]");
+            return;
+        }
+        Path path = Path.of(args[0]);
+        String[] rest = new String[args.length - 1];
+        System.arraycopy(args, 1, rest, 0, rest.length);
+        Properties p = GameConfig.parseArgs(rest);
+        boolean realtime = Boolean.parseBoolean(p.getProperty("realtime", "false"));
+
+        try (InputReplay replay = new InputReplay(path)) {
+            GameConfig config = replay.config();
+            System.out.println("config: " + config);
+            GameWorld world = new GameWorld(config);
+
+            long start = System.nanoTime();
+            Summary summary = play(replay, world, realtime);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.println(summary);
+            System.out.printf("elapsed=%.3fs ticks/s=%.0f%n", seconds, summary.ticks / seconds);
+            if (summary.mismatches > 0) System.exit(1);
+        }
+    }
+
+    // 記録を最後まで再生する。realtime なら1ティックごとに記録時のティックの長さずつ待つ
+    public static Summary play(InputReplay replay, GameWorld world, boolean realtime) throws IOException {
+        Summary summary = new Summary();
+        long step = replay.stepNanos();
+        long start = System.nanoTime();
+
+        for (int event = replay.next(); event != InputReplay.END; event = replay.next()) {
+            switch (event) {
+                case InputReplay.RESET -> {
+                    world.reset(replay.seed());
+                    summary.games++;
+                }
+                case InputReplay.TICK -> {
+                    world.tick(InputFrame.ofBits(replay.bits()));
+                    summary.ticks++;
+                    if (realtime) {
+                        long wait = start + summary.ticks * step - System.nanoTime();
+                        if (wait > 0) LockSupport.parkNanos(wait);
+                    }
+                }
+                case InputReplay.CHECK -> {
+                    summary.checks++;
+                    long actual = world.checksum();
+                    if (world.tick != replay.checkTick() || actual != replay.checksum()) {
+                        summary.mismatches++;
+                        System.out.println("mismatch in game " + summary.games + ": expected tick "
+                                + replay.checkTick() + " checksum " + replay.checksum()
+                                + ", got tick " + world.tick + " checksum " + actual);
+                    }
+                }
+                default -> throw new IOException("unknown replay event: " + event);
+            }
+        }
+        return summary;
+    }
+}
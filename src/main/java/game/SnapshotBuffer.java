@@ -0,0 +1,31 @@
+package game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// シミュレーション側（書き手1つ）と描画側（読み手1つ）の間のトリプルバッファ
+// 書き手は back に書いてから middle と交換、読み手は新しいものがあれば front と middle を交換する。
+// どちらも待たされず、割り当ても行わない
+public class SnapshotBuffer {
+
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;   // middle に読み手がまだ見ていないものが入っている
+
+    private final WorldSnapshot[] buffers = {new WorldSnapshot(), new WorldSnapshot(), new WorldSnapshot()};
+
+    private int back = 0;                                   // 書き手専用
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int front = 2;                                  // 読み手専用
+
+    public void publish(GameWorld world, long stateNanos) {
+        buffers[back].capture(world, stateNanos);
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    // 最新のスナップショット。次に latest() を呼ぶまで中身は変わらない
+    public WorldSnapshot latest() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return buffers[front];
+    }
+}
@@ -0,0 +1,231 @@
+package game;
+
+import java.nio.ByteBuffer;
+
+// GameWorld の状態をネット送信用に書き出す / 受信側の GameWorld（鏡）に書き戻す
+//
+// 本体（FULL / DELTA 共通の先頭）:
+//   ティック(long), 世代(int), フラグ(byte: 1=ゲームオーバー 2=クリア), 自機 x(short), 隊列の原点 x, y(int)
+// 敵の生存（64体ずつの long ビットマスク）:
+//   FULL  全ワード
+//   DELTA 変わったワード数(short), (ワード番号(short), ワード(long)) × n
+// 弾（自機弾・敵弾の順）: 数(short), (x(short), y(short), 幅(byte), 高さ(byte), 速度(byte)) × n
+//   毎ティック全部動くので差分にせず全部送る
+// 盾:
+//   FULL  全盾の全セルの耐久値(byte)
+//   DELTA 変わった盾の数(short), (盾番号(short), セル数(short), (セル番号(short), 耐久値(byte)) × m) × n
+//
+// 送り手側は前回送った生存マスク・耐久値を覚えておき、書き出しのたびに今の状態で置き換える
+// バッファは呼び出し側が持つ（ここでは割り当てない。配列は隊列・盾の数が変わった時だけ作り直す）
+public class SnapshotCodec {
+
+    static final int FLAG_GAME_OVER = 1;
+    static final int FLAG_GAME_CLEAR = 2;
+
+    private long[] sentAlive = new long[0];
+    private byte[][] sentHp = new byte[0][];
+    private int sentGeneration = -1;
+
+    // 差分を作れない（まだ何も送っていない・リスタートした）なら true。FULL を送ること
+    public boolean needsFull(GameWorld w) {
+        return w.generation != sentGeneration;
+    }
+
+    // 書き出しに必要な最大バイト数（バッファの大きさの確認用）
+    static int maxSize(GameWorld w) {
+        int words = words(w.formation.size);
+        int cells = 0;
+        for (Barrier b : w.barriers.barriers) cells += b.hp.length;
+        return 64 + words * 10 + (w.bullets.size() + w.enemyBullets.size()) * 7 + w.barriers.size() * 4 + cells * 3;
+    }
+
+    public void writeFull(GameWorld w, ByteBuffer out) {
+        writeHeader(w, out);
+
+        long[] alive = remember(w);
+        for (long word : alive) out.putLong(word);
+
+        writeBullets(w.bullets, out);
+        writeBullets(w.enemyBullets, out);
+
+        for (Barrier b : w.barriers.barriers) {
+            out.put(b.hp);
+            System.arraycopy(b.hp, 0, sentHp[b.index], 0, b.hp.length);
+        }
+    }
+
+    // 前回 writeFull / writeDelta した時からの差分（needsFull が false の時だけ）
+    public void writeDelta(GameWorld w, ByteBuffer out) {
+        writeHeader(w, out);
+
+        Formation f = w.formation;
+        int countPos = out.position();
+        out.putShort((short) 0);
+        int changed = 0;
+        for (int word = 0; word < sentAlive.length; word++) {
+            long bits = aliveWord(f, word);
+            if (bits != sentAlive[word]) {
+                sentAlive[word] = bits;
+                out.putShort((short) word);
+                out.putLong(bits);
+                changed++;
+            }
+        }
+        out.putShort(countPos, (short) changed);
+
+        writeBullets(w.bullets, out);
+        writeBullets(w.enemyBullets, out);
+
+        countPos = out.position();
+        out.putShort((short) 0);
+        int changedBarriers = 0;
+        for (Barrier b : w.barriers.barriers) {
+            byte[] sent = sentHp[b.index];
+            int cellsPos = -1, cells = 0;
+            for (int i = 0; i < b.hp.length; i++) {
+                if (b.hp[i] == sent[i]) continue;
+                if (cellsPos < 0) {
+                    out.putShort((short) b.index);
+                    cellsPos = out.position();
+                    out.putShort((short) 0);
+                    changedBarriers++;
+                }
+                out.putShort((short) i);
+                out.put(b.hp[i]);
+                sent[i] = b.hp[i];
+                cells++;
+            }
+            if (cellsPos >= 0) out.putShort(cellsPos, (short) cells);
+        }
+        out.putShort(countPos, (short) changedBarriers);
+    }
+
+    // 受信した FULL / DELTA を鏡の GameWorld に反映する（鏡は送り手と同じ GameConfig で作ってあること）
+    // 自機・隊列の1ティック前の位置は反映前の値にするので、描画の補間は受信間隔の間で行われる
+    public static void apply(ByteBuffer in, boolean full, GameWorld mirror) {
+        long tick = in.getLong();
+        int generation = in.getInt();
+        int flags = in.get();
+        int playerX = in.getShort();
+        int originX = in.getInt();
+        int originY = in.getInt();
+
+        Formation f = mirror.formation;
+        if (full && (mirror.player == null || mirror.generation != generation)) {
+            mirror.reset(0);
+        }
+        mirror.generation = generation;
+        mirror.tick = tick;
+        mirror.gameOver = (flags & FLAG_GAME_OVER) != 0;
+        mirror.gameClear = (flags & FLAG_GAME_CLEAR) != 0;
+
+        mirror.player.prevX = mirror.player.x;
+        mirror.player.x = playerX;
+        f.savePrevious();
+        f.move(originX - f.originX(), originY - f.originY());
+
+        if (full) {
+            for (int word = 0, n = words(f.size); word < n; word++) applyAliveWord(f, word, in.getLong());
+        } else {
+            for (int k = 0, n = in.getShort() & 0xFFFF; k < n; k++) {
+                int word = in.getShort() & 0xFFFF;
+                applyAliveWord(f, word, in.getLong());
+            }
+        }
+
+        readBullets(in, mirror.bullets);
+        readBullets(in, mirror.enemyBullets);
+
+        if (full) {
+            for (Barrier b : mirror.barriers.barriers) {
+                in.get(b.hp);
+                b.liveCells = 0;
+                for (byte hp : b.hp) if (hp > 0) b.liveCells++;
+                b.version++;
+            }
+        } else {
+            for (int k = 0, n = in.getShort() & 0xFFFF; k < n; k++) {
+                Barrier b = mirror.barriers.barriers.get(in.getShort() & 0xFFFF);
+                for (int m = 0, cells = in.getShort() & 0xFFFF; m < cells; m++) {
+                    int cell = in.getShort() & 0xFFFF;
+                    byte hp = in.get();
+                    if (b.hp[cell] > 0 && hp <= 0) b.liveCells--;
+                    if (b.hp[cell] <= 0 && hp > 0) b.liveCells++;
+                    b.hp[cell] = hp;
+                }
+                b.version++;
+            }
+        }
+    }
+
+    private static void writeHeader(GameWorld w, ByteBuffer out) {
+        out.putLong(w.tick);
+        out.putInt(w.generation);
+        out.put((byte) ((w.gameOver ? FLAG_GAME_OVER : 0) | (w.gameClear ? FLAG_GAME_CLEAR : 0)));
+        out.putShort((short) w.player.x);
+        out.putInt(w.formation.originX());
+        out.putInt(w.formation.originY());
+    }
+
+    // 今の生存マスク・耐久値を「送った状態」として覚える
+    private long[] remember(GameWorld w) {
+        sentGeneration = w.generation;
+        Formation f = w.formation;
+        int words = words(f.size);
+        if (sentAlive.length != words) sentAlive = new long[words];
+        for (int word = 0; word < words; word++) sentAlive[word] = aliveWord(f, word);
+
+        int n = w.barriers.size();
+        if (sentHp.length != n) sentHp = new byte[n][];
+        for (Barrier b : w.barriers.barriers) {
+            if (sentHp[b.index] == null || sentHp[b.index].length != b.hp.length) sentHp[b.index] = new byte[b.hp.length];
+        }
+        return sentAlive;
+    }
+
+    private static long aliveWord(Formation f, int word) {
+        long bits = 0;
+        int base = word << 6;
+        int end = Math.min(base + 64, f.size);
+        for (int i = base; i < end; i++) {
+            if (f.alive[i]) bits |= 1L << (i - base);
+        }
+        return bits;
+    }
+
+    // 鏡の隊列を受信したマスクに合わせる（撃墜は Formation#kill で列・行の範囲も更新する）
+    private static void applyAliveWord(Formation f, int word, long bits) {
+        int base = word << 6;
+        int end = Math.min(base + 64, f.size);
+        for (int i = base; i < end; i++) {
+            if (f.alive[i] && (bits & (1L << (i - base))) == 0) f.kill(i);
+        }
+    }
+
+    private static void writeBullets(BulletPool pool, ByteBuffer out) {
+        out.putShort((short) pool.count);
+        for (int i = 0; i < pool.count; i++) {
+            out.putShort((short) pool.x[i]);
+            out.putShort((short) pool.y[i]);
+            out.put((byte) pool.width[i]);
+            out.put((byte) pool.height[i]);
+            out.put((byte) pool.speed[i]);
+        }
+    }
+
+    private static void readBullets(ByteBuffer in, BulletPool pool) {
+        pool.clear();
+        for (int i = 0, n = in.getShort() & 0xFFFF; i < n; i++) {
+            int x = in.getShort();
+            int y = in.getShort();
+            int w = in.get();
+            int h = in.get();
+            int speed = in.get();
+            pool.add(x, y, w, h, speed);
+        }
+    }
+
+    private static int words(int size) {
+        return (size + 63) >>> 6;
+    }
+}
@@ -0,0 +1,11 @@
+package game;
+
+// 描画側から見た状態の出どころ（ローカルの GameSimulation か、サーバーにつないだ GameClient）
+public interface SnapshotSource {
+
+    // 最新のスナップショット。次に latest() を呼ぶまで中身は変わらない（読み手は1スレッドだけ）
+    WorldSnapshot latest();
+
+    // 時刻 now に描く時の補間係数（0.0〜1.0）
+    double alpha(WorldSnapshot snapshot, long now);
+}
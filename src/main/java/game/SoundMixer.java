@@ -0,0 +1,170 @@
+package game;
+
+import javax.sound.sampled.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 効果音のミキサー
+// WAV は読み込み時に一度だけ 44.1kHz / 16bit / ステレオの PCM に変換しておき、
+// 専用スレッドが SourceDataLine 1本に最大 MAX_VOICES 個の音を重ねて書き込む。
+// play() はロックフリーのキューに番号を積むだけなので、呼び出し側（ゲームのスレッド）は待たされない
+public class SoundMixer {
+
+    public static final AudioFormat FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+
+    private static final int MAX_VOICES = 16;
+    private static final int BLOCK_FRAMES = 256;          // 1回に混ぜるフレーム数（約 5.8ms）
+    private static final int LINE_BUFFER_FRAMES = 2048;   // ライン側のバッファ（約 46ms）
+
+    // 効果音ごとの PCM（L, R, L, R, ...）
+    private final List<short[]> sounds = new ArrayList<>();
+    private final IntRingQueue requests = new IntRingQueue(64);
+
+    // 再生中の音（ミキサースレッド専用）
+    private final int[] voiceSound = new int[MAX_VOICES];
+    private final int[] voicePos = new int[MAX_VOICES];   // 次に読むサンプル位置
+    private int voiceCount = 0;
+
+    private volatile short[][] soundTable = new short[0][];
+    private volatile Thread thread;
+
+    // WAV を読み込んで PCM に変換し、番号を返す（失敗したら -1）
+    // 変換はロックの外で行うので、複数のスレッドから同時に読み込める
+    public int load(URL url) {
+        if (url == null) return -1;
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(url)) {
+            return register(decode(source));
+        } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException ex) {
+            ex.printStackTrace();
+            return -1;
+        }
+    }
+
+    private synchronized int register(short[] pcm) {
+        sounds.add(pcm);
+        soundTable = sounds.toArray(new short[0][]);
+        return sounds.size() - 1;
+    }
+
+    // 再生要求（どのスレッドからでも呼べる）。番号が -1 なら何もしない
+    public void play(int sound) {
+        if (sound < 0 || thread == null) return;
+        requests.offer(sound);
+    }
+
+    public synchronized void start() {
+        if (thread != null) return;
+        SourceDataLine line;
+        try {
+            line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, LINE_BUFFER_FRAMES * FORMAT.getFrameSize());
+        } catch (LineUnavailableException | IllegalArgumentException ex) {
+            System.out.println("audio line unavailable: " + ex.getMessage());
+            return;
+        }
+        line.start();
+
+        thread = new Thread(() -> mixLoop(line), "sound-mixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        Thread t = thread;
+        thread = null;
+        if (t != null) t.interrupt();
+    }
+
+    private void mixLoop(SourceDataLine line) {
+        Thread self = Thread.currentThread();
+        int[] mix = new int[BLOCK_FRAMES * 2];
+        byte[] out = new byte[BLOCK_FRAMES * FORMAT.getFrameSize()];
+
+        try {
+            while (thread == self) {
+                short[][] table = soundTable;
+
+                // 新しい再生要求を受け取る（空きが無ければ一番古い音を止める）
+                for (int id = requests.poll(); id != IntRingQueue.EMPTY; id = requests.poll()) {
+                    if (id >= table.length) continue;
+                    if (voiceCount == MAX_VOICES) removeVoice(0);
+                    voiceSound[voiceCount] = id;
+                    voicePos[voiceCount] = 0;
+                    voiceCount++;
+                }
+
+                Arrays.fill(mix, 0);
+                for (int v = 0; v < voiceCount; ) {
+                    short[] pcm = table[voiceSound[v]];
+                    int pos = voicePos[v];
+                    int n = Math.min(mix.length, pcm.length - pos);
+                    for (int i = 0; i < n; i++) {
+                        mix[i] += pcm[pos + i];
+                    }
+                    pos += n;
+                    if (pos >= pcm.length) {
+                        removeVoice(v);
+                        continue;
+                    }
+                    voicePos[v] = pos;
+                    v++;
+                }
+
+                for (int i = 0, b = 0; i < mix.length; i++) {
+                    int s = mix[i];
+                    if (s > Short.MAX_VALUE) s = Short.MAX_VALUE;
+                    else if (s < Short.MIN_VALUE) s = Short.MIN_VALUE;
+                    out[b++] = (byte) s;
+                    out[b++] = (byte) (s >> 8);
+                }
+
+                // ラインのバッファが埋まっている間はここで待つ（これが再生速度のペースになる）
+                line.write(out, 0, out.length);
+            }
+        } finally {
+            line.stop();
+            line.close();
+        }
+    }
+
+    // v 番目の音を外す（後ろを詰めて順序は保つ）
+    private void removeVoice(int v) {
+        voiceCount--;
+        System.arraycopy(voiceSound, v + 1, voiceSound, v, voiceCount - v);
+        System.arraycopy(voicePos, v + 1, voicePos, v, voiceCount - v);
+    }
+
+    // 16bit リトルエンディアンのステレオに変換する（モノラルは左右に複製）
+    private static short[] decode(AudioInputStream source) throws IOException {
+        AudioFormat in = source.getFormat();
+        int channels = in.getChannels();
+        if (channels != 1 && channels != 2) {
+            throw new IllegalArgumentException("unsupported channel count: " + channels);
+        }
+        AudioFormat pcmFormat = new AudioFormat(FORMAT.getSampleRate(), 16, channels, true, false);
+        byte[] bytes;
+        try (AudioInputStream pcm = AudioSystem.getAudioInputStream(pcmFormat, source)) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            pcm.transferTo(buffer);
+            bytes = buffer.toByteArray();
+        }
+
+        int samples = bytes.length / 2;
+        short[] out = new short[channels == 1 ? samples * 2 : samples];
+        for (int i = 0; i < samples; i++) {
+            short s = (short) ((bytes[2 * i] & 0xff) | (bytes[2 * i + 1] << 8));
+            if (channels == 1) {
+                out[2 * i] = s;
+                out[2 * i + 1] = s;
+            } else {
+                out[i] = s;
+            }
+        }
+        return out;
+    }
+}
@@ -1,17 +1,29 @@
+package game;
+
 import javax.swing.*;
+import java.io.IOException;
+import java.util.Properties;
 
 public class SpaceInvaders extends JFrame {
 
-    public static void main(String[] args) {
-        SwingUtilities.invokeLater(SpaceInvaders::new);
+    // 引数なしなら通常プレイ。--stress（負荷試験のプリセット）、--config <ファイル>、--enemyRows 20 などで調整できる
+    public static void main(String[] args) throws IOException {
+        Properties p = GameConfig.parseArgs(args);
+        GameConfig config = GameConfig.fromArgs(p);
+        boolean stress = Boolean.parseBoolean(p.getProperty("stress", "false"));
+        SwingUtilities.invokeLater(() -> new SpaceInvaders(config, stress));
     }
 
     public SpaceInvaders() {
+        this(new GameConfig(), false);
+    }
+
+    public SpaceInvaders(GameConfig config, boolean stress) {
         setTitle("Space Invaders - Simple Java Version");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setResizable(false);
 
-        GamePanel panel = new GamePanel();
+        GamePanel panel = new GamePanel(config, stress);
         add(panel);
         pack();
 
@@ -0,0 +1,182 @@
+package game;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// 自機・敵・弾の絵を1枚の画像に並べたもの（画面と同じ形式なので Java2D がそのまま VRAM に載せられる）
+// 敵は3種類 × 2コマのアニメーションを、隊列の敵の大きさに合わせてあらかじめ描いておく
+// 絵はドット絵の文字列から作る（画像ファイルは使わない）
+public class SpriteAtlas {
+
+    static final int PLAYER = 0;
+    static final int PLAYER_BULLET = 1;
+    static final int ENEMY_BULLET = 2;
+    static final int ENEMY = 3;              // ENEMY + 種類 * 2 + コマ
+    static final int ENEMY_KINDS = 3;
+    static final int SPRITES = ENEMY + ENEMY_KINDS * 2;
+
+    private static final Color PLAYER_COLOR = Color.CYAN;
+    private static final Color ENEMY_COLOR = Color.GREEN;
+    private static final Color PLAYER_BULLET_COLOR = Color.YELLOW;
+    private static final Color ENEMY_BULLET_COLOR = Color.RED;
+
+    private static final String[] PLAYER_BITS = {
+            "......#......",
+            ".....###.....",
+            ".....###.....",
+            ".###########.",
+            "#############",
+            "#############",
+            "#############",
+            "#############",
+    };
+
+    // 種類ごとに2コマ
+    private static final String[][] ENEMY_BITS = {
+            {
+                    "...##...",
+                    "..####..",
+                    ".######.",
+                    "##.##.##",
+                    "########",
+                    "..#..#..",
+                    ".#.##.#.",
+                    "#.#..#.#",
+            }, {
+                    "...##...",
+                    "..####..",
+                    ".######.",
+                    "##.##.##",
+                    "########",
+                    ".#.##.#.",
+                    "#......#",
+                    ".#....#.",
+            }, {
+                    "..#.....#..",
+                    "...#...#...",
+                    "..#######..",
+                    ".##.###.##.",
+                    "###########",
+                    "#.#######.#",
+                    "#.#.....#.#",
+                    "...##.##...",
+            }, {
+                    "..#.....#..",
+                    "#..#...#..#",
+                    "#.#######.#",
+                    "###.###.###",
+                    "###########",
+                    ".#########.",
+                    "..#.....#..",
+                    ".#.......#.",
+            }, {
+                    "....####....",
+                    ".##########.",
+                    "############",
+                    "###..##..###",
+                    "############",
+                    "...##..##...",
+                    "..##.##.##..",
+                    "##........##",
+            }, {
+                    "....####....",
+                    ".##########.",
+                    "############",
+                    "###..##..###",
+                    "############",
+                    "..###..###..",
+                    ".##..##..##.",
+                    "..##....##..",
+            },
+    };
+
+    final BufferedImage image;
+
+    // スプライトごとの画像内の矩形
+    final int[] sx = new int[SPRITES], sy = new int[SPRITES];
+    final int[] sw = new int[SPRITES], sh = new int[SPRITES];
+
+    // ただの塗りつぶし矩形になる絵（弾・小さすぎる敵）は画像を使わずその色で fillRect する方が速い
+    final Color[] solid = new Color[SPRITES];
+
+    private int cursor = 0;   // 配置中の x
+
+    // この大きさで作った（作り直しの判定用）
+    final int enemyWidth, enemyHeight, playerWidth, playerHeight;
+
+    // 自機の絵は砲台の分だけ本体より上に伸びる
+    static final int TURRET = 10;
+
+    public SpriteAtlas(int enemyWidth, int enemyHeight, int playerWidth, int playerHeight) {
+        this.enemyWidth = enemyWidth;
+        this.enemyHeight = enemyHeight;
+        this.playerWidth = playerWidth;
+        this.playerHeight = playerHeight;
+
+        // 横一列に 1px ずつ空けて並べる
+        place(PLAYER, playerWidth, playerHeight + TURRET);
+        place(PLAYER_BULLET, 4, 10);
+        place(ENEMY_BULLET, 4, 10);
+        for (int i = 0; i < ENEMY_KINDS * 2; i++) place(ENEMY + i, enemyWidth, enemyHeight);
+
+        int width = 0, height = 1;
+        for (int i = 0; i < SPRITES; i++) {
+            width = Math.max(width, sx[i] + sw[i]);
+            height = Math.max(height, sh[i]);
+        }
+        image = RenderCache.createCompatibleImage(width, height, Transparency.BITMASK);
+
+        Graphics2D g = image.createGraphics();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, width, height);
+        g.setComposite(AlphaComposite.SrcOver);
+        drawBits(g, PLAYER, PLAYER_BITS, PLAYER_COLOR);
+        fill(g, PLAYER_BULLET, PLAYER_BULLET_COLOR);
+        fill(g, ENEMY_BULLET, ENEMY_BULLET_COLOR);
+        for (int i = 0; i < ENEMY_KINDS * 2; i++) drawBits(g, ENEMY + i, ENEMY_BITS[i], ENEMY_COLOR);
+        g.dispose();
+    }
+
+    public boolean matches(int enemyWidth, int enemyHeight, int playerWidth, int playerHeight) {
+        return this.enemyWidth == enemyWidth && this.enemyHeight == enemyHeight
+                && this.playerWidth == playerWidth && this.playerHeight == playerHeight;
+    }
+
+    // 行 row の敵の、アニメーションのコマ frame（0/1）の絵
+    static int enemy(int row, int frame) {
+        return ENEMY + (row / 2 % ENEMY_KINDS) * 2 + (frame & 1);
+    }
+
+    private void place(int sprite, int w, int h) {
+        sx[sprite] = cursor;
+        sy[sprite] = 0;
+        sw[sprite] = Math.max(1, w);
+        sh[sprite] = Math.max(1, h);
+        cursor += sw[sprite] + 1;
+    }
+
+    private void fill(Graphics2D g, int sprite, Color color) {
+        solid[sprite] = color;
+        g.setColor(color);
+        g.fillRect(sx[sprite], sy[sprite], sw[sprite], sh[sprite]);
+    }
+
+    // ドット絵を矩形いっぱいに引き伸ばして描く（小さすぎる時はただの矩形）
+    private void drawBits(Graphics2D g, int sprite, String[] bits, Color color) {
+        g.setColor(color);
+        int rows = bits.length, cols = bits[0].length();
+        int w = sw[sprite], h = sh[sprite];
+        if (w < cols / 2 || h < rows / 2) {
+            fill(g, sprite, color);
+            return;
+        }
+        for (int r = 0; r < rows; r++) {
+            int y0 = r * h / rows, y1 = (r + 1) * h / rows;
+            for (int c = 0; c < cols; c++) {
+                if (bits[r].charAt(c) != '#') continue;
+                int x0 = c * w / cols, x1 = (c + 1) * w / cols;
+                g.fillRect(sx[sprite] + x0, sy[sprite] + y0, Math.max(1, x1 - x0), Math.max(1, y1 - y0));
+            }
+        }
+    }
+}
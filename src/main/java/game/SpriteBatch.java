@@ -0,0 +1,74 @@
+package game;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+// スプライトの描画をためておき、flush() で絵ごとにまとめて描く
+// 描画元はすべて1枚の SpriteAtlas なので画像の切り替えは起きず、塗りつぶしの絵も色の設定は絵ごとに1回だけ。
+// 同じ絵を続けて描くように並べ替える（絵の種類は少ないので数え上げソート）。配列は足りない時だけ伸ばす
+public class SpriteBatch {
+
+    private int[] sprite = new int[256];
+    private int[] x = new int[256], y = new int[256], w = new int[256], h = new int[256];
+    private int count = 0;
+
+    private int[] order = new int[256];
+    private final int[] start = new int[SpriteAtlas.SPRITES + 1];
+
+    // (x, y) に w × h で描く（絵の大きさと違えば拡大・縮小）
+    public void add(int s, int dx, int dy, int dw, int dh) {
+        if (count == sprite.length) grow();
+        sprite[count] = s;
+        x[count] = dx;
+        y[count] = dy;
+        w[count] = dw;
+        h[count] = dh;
+        count++;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void flush(Graphics2D g2, SpriteAtlas atlas) {
+        if (count == 0) return;
+
+        // 絵ごとの個数 → 開始位置 → 並べる（同じ絵の中では追加順）
+        Arrays.fill(start, 0);
+        for (int i = 0; i < count; i++) start[sprite[i] + 1]++;
+        for (int s = 0; s < SpriteAtlas.SPRITES; s++) start[s + 1] += start[s];
+        for (int i = 0; i < count; i++) order[start[sprite[i]]++] = i;
+
+        BufferedImage image = atlas.image;
+        int k = 0;
+        for (int s = 0; s < SpriteAtlas.SPRITES; s++) {
+            int end = start[s];   // 並べ終わった後は「次の絵の開始位置」= この絵の終わり
+            Color solid = atlas.solid[s];
+            if (solid != null && k < end) {
+                g2.setColor(solid);
+                for (; k < end; k++) {
+                    int i = order[k];
+                    g2.fillRect(x[i], y[i], w[i], h[i]);
+                }
+                continue;
+            }
+            int sx = atlas.sx[s], sy = atlas.sy[s], sw = atlas.sw[s], sh = atlas.sh[s];
+            for (; k < end; k++) {
+                int i = order[k];
+                g2.drawImage(image, x[i], y[i], x[i] + w[i], y[i] + h[i], sx, sy, sx + sw, sy + sh, null);
+            }
+        }
+        count = 0;
+    }
+
+    private void grow() {
+        int n = sprite.length * 2;
+        sprite = Arrays.copyOf(sprite, n);
+        x = Arrays.copyOf(x, n);
+        y = Arrays.copyOf(y, n);
+        w = Arrays.copyOf(w, n);
+        h = Arrays.copyOf(h, n);
+        order = new int[n];
+    }
+}
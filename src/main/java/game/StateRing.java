@@ -0,0 +1,100 @@
+package game;
+
+import java.nio.ByteBuffer;
+
+// 直近 capacity ティック分の WorldState を1つの ByteBuffer に輪状に持つ（巻き戻し・ロールバック用）
+//
+//   ring.save(world);            // 毎ティックの後に
+//   ring.rewind(world, 30);      // 30個前の保存状態に戻し、それより新しいものは捨てる
+//
+// 1スロットの大きさは reserve（無ければ最初の save）で決める。save / restore とも割り当てなし
+// 見込みより弾が増えて入らなくなった時だけ、大きいバッファを作って今の履歴を写す（履歴は捨てない。その1回だけ割り当てる）
+public class StateRing {
+
+    private final int capacity;
+    private ByteBuffer buffer;
+    private int slotSize;
+
+    private int newest = -1;   // 最新のスロット
+    private int count = 0;
+    private final long[] ticks;
+
+    public StateRing(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+        this.capacity = capacity;
+        ticks = new long[capacity];
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void clear() {
+        newest = -1;
+        count = 0;
+    }
+
+    // 1スロットを少なくとも bytes バイトにしておく（ゲームの前に WorldState#expectedSize で確保する用）
+    public void reserve(int bytes) {
+        if (bytes > slotSize) grow(bytes);
+    }
+
+    // 今の状態を保存する（一杯なら一番古いものを上書き）
+    public void save(GameWorld world) {
+        int needed = WorldState.size(world);
+        if (needed > slotSize) grow(needed + needed / 2);
+        newest = (newest + 1) % capacity;
+        if (count < capacity) count++;
+        ticks[newest] = world.tick;
+
+        ByteBuffer slot = slot(newest);
+        WorldState.write(world, slot);
+    }
+
+    // back 個前（0 = 最新）の保存状態のティック
+    public long tickAt(int back) {
+        checkBack(back);
+        return ticks[index(back)];
+    }
+
+    // back 個前の状態に戻す（履歴はそのまま）
+    public void restore(GameWorld world, int back) {
+        checkBack(back);
+        WorldState.read(slot(index(back)), world);
+    }
+
+    // back 個前の状態に戻し、それより新しい履歴を捨てる（巻き戻し後に別の入力で進め直す時用）
+    public void rewind(GameWorld world, int back) {
+        restore(world, back);
+        newest = index(back);
+        count -= back;
+    }
+
+    // スロットを bytes 以上に広げ、保存済みの状態を同じ番号のスロットに写す
+    private void grow(int bytes) {
+        int size = Math.max(bytes, 1024);
+        ByteBuffer next = ByteBuffer.allocateDirect(size * capacity);
+        for (int back = 0; back < count; back++) {
+            int i = index(back);
+            next.position(i * size);
+            next.put(slot(i));
+        }
+        next.clear();
+        buffer = next;
+        slotSize = size;
+    }
+
+    private ByteBuffer slot(int index) {
+        buffer.limit(index * slotSize + slotSize);
+        buffer.position(index * slotSize);
+        return buffer;
+    }
+
+    private int index(int back) {
+        return Math.floorMod(newest - back, capacity);
+    }
+
+    private void checkBack(int back) {
+        if (back < 0 || back >= count) throw new IndexOutOfBoundsException("back " + back + " of " + count);
+    }
+}
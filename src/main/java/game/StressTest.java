@@ -0,0 +1,101 @@
+package game;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Properties;
+
+// 負荷試験: 実時間に合わせず、できるだけ速くティックと描画を回して ticks/s・frames/s を測る
+//
+//   java -cp space-invaders.jar game.StressTest --stress --seconds 10
+//   java -cp space-invaders.jar game.StressTest --config stress.properties --renderEvery 4
+//
+// ゲームは追尾ボットが操作し、終わったら次のシードで続ける。描画は画面の代わりに画面と同じ形式の画像に描く
+// （--renderEvery 0 で描画なし）。毎秒のフェーズ別の所要時間は FrameProfiler のログ行で出る
+// 撃墜・発射などの事象は GameEventBus に流し、描画（パーティクル）と別スレッドの集計が受け取る
+// --threads <n> で弾の移動と当たり判定を n スレッドに分ける（弾が --parallelThreshold 発以上の時だけ）
+// --budget <ミリ秒> を付けると、1フレーム（描画 + その間のティック）がその予算に収まるよう描画の品質を下げる
+public class StressTest {
+
+    public static void main(String[] args) throws IOException {
+        Properties p = GameConfig.parseArgs(args);
+        GameConfig config = GameConfig.fromArgs(p);
+        int seconds = GameConfig.intValue(p, "seconds", 10, 1);
+        int renderEvery = GameConfig.intValue(p, "renderEvery", 1, 0);
+        long seed = Long.parseLong(p.getProperty("seed", "1"));
+        double budget = Double.parseDouble(p.getProperty("budget", "0"));
+        int threads = GameConfig.intValue(p, "threads", 1, 1);
+        int threshold = GameConfig.intValue(p, "parallelThreshold", ParallelPhases.DEFAULT_THRESHOLD, 1);
+        InputPolicy policy = InputPolicy.named(p.getProperty("policy", "tracking"), seed);
+
+        System.out.println("config: " + config + " seconds=" + seconds + " renderEvery=" + renderEvery
+                + " threads=" + threads + (budget > 0 ? " budget=" + budget + "ms" : ""));
+
+        FrameProfiler profiler = new FrameProfiler();
+        GameWorld world = new GameWorld(config);
+        world.setProfiler(profiler);
+        world.setParallel(ParallelPhases.ofThreads(threads, threshold));
+        GameRenderer renderer = new GameRenderer();
+        renderer.setProfiler(profiler);
+        QualityGovernor governor = null;
+        if (budget > 0) {
+            governor = new QualityGovernor((long) (budget * 1_000_000L), QualityGovernor.Level.HIGH, true);
+            renderer.setGovernor(governor);
+        }
+        GameEventBus events = new GameEventBus(1 << 16);
+        events.attach(world);
+        if (renderEvery > 0) renderer.setEvents(events.subscribeLossy());   // 描かないなら読まないので登録しない
+        EventStats stats = new EventStats();
+        Thread statsThread = events.start("game-events-stats", stats);
+        WorldSnapshot snapshot = new WorldSnapshot();
+        BufferedImage frame = RenderCache.createCompatibleImage(GameWorld.WIDTH, GameWorld.HEIGHT, Transparency.OPAQUE);
+
+        GameRandom seeds = new GameRandom(seed);
+        long ticks = 0, frames = 0, games = 0;
+        int maxBullets = 0;
+
+        profiler.start(1000, 1);
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        while (System.nanoTime() < end) {
+            if (!world.isRunning()) {
+                world.reset(seeds.nextLong());
+                games++;
+            }
+            long tickStart = System.nanoTime();
+            world.tick(policy.next(world));
+            if (governor != null) governor.recordUpdate(System.nanoTime() - tickStart);
+            ticks++;
+            maxBullets = Math.max(maxBullets, world.bullets.size() + world.enemyBullets.size());
+
+            if (renderEvery > 0 && ticks % renderEvery == 0) {
+                long frameStart = System.nanoTime();
+                snapshot.capture(world, frameStart);
+                Graphics2D g2 = frame.createGraphics();
+                try {
+                    renderer.render(g2, snapshot, 1.0, false);
+                } finally {
+                    g2.dispose();
+                }
+                renderer.frameFinished(System.nanoTime() - frameStart);
+                frames++;
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        profiler.stop();
+        statsThread.interrupt();
+        try {
+            statsThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        System.out.printf(Locale.ROOT, "[stress] elapsed=%.2fs games=%d ticks=%d frames=%d ticks/s=%.0f frames/s=%.0f"
+                        + " enemies=%d barriers=%d maxBullets=%d%n",
+                elapsed, games, ticks, frames, ticks / elapsed, frames / elapsed,
+                config.enemyRows * config.enemyCols, config.barrierCount, maxBullets);
+        System.out.println("[stress] events: " + stats + " dropped=" + events.dropped());
+        if (governor != null) System.out.println("[stress] " + governor);
+    }
+}
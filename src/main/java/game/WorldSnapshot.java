@@ -0,0 +1,122 @@
+package game;
+
+import java.util.Arrays;
+
+// 描画用に GameWorld の状態を写し取ったもの
+// SnapshotBuffer で使い回すので、配列は足りなくなった時だけ作り直す（通常は capture で割り当てない）
+public final class WorldSnapshot {
+
+    long tick;
+    int generation;
+    boolean started;     // reset 済み（自機がいる）
+    boolean gameOver, gameClear;
+
+    // このスナップショットの状態に対応する時刻（System.nanoTime 基準）。補間係数の計算に使う
+    long stateNanos;
+
+    int playerX, playerPrevX, playerY, playerWidth, playerHeight;
+
+    // 敵（隊列の原点からの相対座標。生存している敵だけ）
+    int originX, originY, prevOriginX, prevOriginY;
+    int enemyCount;
+    int[] enemyX = new int[64], enemyY = new int[64], enemyWidth = new int[64], enemyHeight = new int[64];
+    int[] enemyRow = new int[64];   // 隊列内の行（絵柄の選択用）
+
+    final BulletPool bullets = new BulletPool(64);
+    final BulletPool enemyBullets = new BulletPool(64);
+
+    // 盾
+    int barrierCount;
+    int[] barrierX = new int[8], barrierY = new int[8];
+    int[] barrierCols = new int[8], barrierRows = new int[8], barrierCellSize = new int[8];
+    int[] barrierVersion = new int[8], barrierLiveCells = new int[8];
+    byte[][] barrierHp = new byte[8][];
+
+    public void capture(GameWorld world, long stateNanos) {
+        // reset を跨いだら盾の version は比較できないので全部写し直す
+        boolean newGeneration = generation != world.generation;
+
+        this.stateNanos = stateNanos;
+        tick = world.tick;
+        generation = world.generation;
+        gameOver = world.gameOver;
+        gameClear = world.gameClear;
+
+        Player player = world.player;
+        started = player != null;
+        if (!started) {
+            enemyCount = 0;
+            bullets.clear();
+            enemyBullets.clear();
+            barrierCount = 0;
+            return;
+        }
+        playerX = player.x;
+        playerPrevX = player.prevX;
+        playerY = player.y;
+        playerWidth = player.width;
+        playerHeight = player.height;
+
+        Formation formation = world.formation;
+        originX = formation.originX();
+        originY = formation.originY();
+        prevOriginX = formation.prevOriginX;
+        prevOriginY = formation.prevOriginY;
+        if (enemyX.length < formation.aliveCount) growEnemies(formation.size);
+        int n = 0;
+        boolean[] alive = formation.alive;
+        for (int i = 0; i < alive.length; i++) {
+            if (!alive[i]) continue;
+            enemyX[n] = formation.x[i];
+            enemyY[n] = formation.y[i];
+            enemyWidth[n] = formation.width[i];
+            enemyHeight[n] = formation.height[i];
+            enemyRow[n] = i / formation.cols;
+            n++;
+        }
+        enemyCount = n;
+
+        bullets.copyFrom(world.bullets);
+        enemyBullets.copyFrom(world.enemyBullets);
+
+        BarrierField field = world.barriers;
+        int bc = field.size();
+        if (barrierX.length < bc) growBarriers(bc);
+        for (int i = 0; i < bc; i++) {
+            Barrier b = field.barriers.get(i);
+            barrierX[i] = b.x;
+            barrierY[i] = b.y;
+            barrierCols[i] = b.cols;
+            barrierRows[i] = b.rows;
+            barrierCellSize[i] = b.cellSize;
+            barrierLiveCells[i] = b.liveCells;
+            boolean fresh = barrierHp[i] == null || barrierHp[i].length != b.hp.length;
+            if (fresh) barrierHp[i] = new byte[b.hp.length];
+            // 変化が無ければコピーしない
+            if (fresh || newGeneration || barrierVersion[i] != b.version) {
+                System.arraycopy(b.hp, 0, barrierHp[i], 0, b.hp.length);
+                barrierVersion[i] = b.version;
+            }
+        }
+        barrierCount = bc;
+    }
+
+    private void growEnemies(int n) {
+        enemyX = Arrays.copyOf(enemyX, n);
+        enemyY = Arrays.copyOf(enemyY, n);
+        enemyWidth = Arrays.copyOf(enemyWidth, n);
+        enemyHeight = Arrays.copyOf(enemyHeight, n);
+        enemyRow = Arrays.copyOf(enemyRow, n);
+    }
+
+    private void growBarriers(int n) {
+        barrierX = Arrays.copyOf(barrierX, n);
+        barrierY = Arrays.copyOf(barrierY, n);
+        barrierCols = Arrays.copyOf(barrierCols, n);
+        barrierRows = Arrays.copyOf(barrierRows, n);
+        barrierCellSize = Arrays.copyOf(barrierCellSize, n);
+        barrierVersion = Arrays.copyOf(barrierVersion, n);
+        barrierLiveCells = Arrays.copyOf(barrierLiveCells, n);
+        barrierHp = Arrays.copyOf(barrierHp, n);
+    }
+}
@@ -0,0 +1,168 @@
+package game;
+
+import java.nio.ByteBuffer;
+
+// GameWorld の状態をまるごと ByteBuffer に書く / 書き戻す（巻き戻し・ロールバック用。StateRing が使う）
+//
+// 入るもの: ティック・世代・シード・乱数の状態・終了フラグ・enemyDx・連射のタイマー、自機の位置、
+// 隊列の原点（1ティック前も）と生存マスク、自機弾・敵弾、全盾の耐久値
+// 入らないもの: 配置で決まる値（敵・盾の大きさや位置、GameConfig）。書き戻し先は同じ GameConfig で作ってあること
+//
+// どちらも割り当ては行わない（弾の配列が足りない時に BulletPool が伸びるのを除く）
+//
+// 別の世代（reset の前のゲーム）の状態を read すると、先にそのシードで reset して隊列・盾を並べ直す。
+// これは遅い道で、割り当ても起きる（数µs では済まない）。巻き戻しで使う GameSimulation は reset で履歴を
+// 捨てるので、この道は通らない。ゲームをまたいで戻したい呼び出し側だけが使うこと
+public final class WorldState {
+
+    private WorldState() {}
+
+    // write に必要な最大バイト数
+    public static int size(GameWorld w) {
+        return sizeWith(w, w.bullets.size() + w.enemyBullets.size());
+    }
+
+    // 設定から見込んだ write の大きさ（StateRing#reserve 用。reset の後に呼ぶ）
+    // 弾は撃てる間隔と、画面の端から端まで飛ぶティック数（自機弾 8px・敵弾 6px / ティック）から見積もる
+    // （画面に同時にいられる弾の数の上限。超えた時は StateRing が履歴ごと広げる）
+    public static int expectedSize(GameWorld w) {
+        GameConfig c = w.config;
+        int playerBullets = (GameWorld.HEIGHT / 8 / c.shotInterval + 1) * c.playerVolley;
+        int enemyBullets = (GameWorld.HEIGHT / 6 / c.enemyShotInterval + 1) * c.enemyVolley;
+        return sizeWith(w, playerBullets + enemyBullets);
+    }
+
+    private static int sizeWith(GameWorld w, int bullets) {
+        int cells = 0;
+        for (Barrier b : w.barriers.barriers) cells += b.hp.length + 4;
+        return 80 + ((w.formation.size + 63) >>> 6) * 8 + bullets * 7 + 8 + cells;
+    }
+
+    public static void write(GameWorld w, ByteBuffer out) {
+        out.putLong(w.tick);
+        out.putInt(w.generation);
+        out.putLong(w.seed);
+        out.putLong(w.random.state());
+        out.put((byte) ((w.gameOver ? 1 : 0) | (w.gameClear ? 2 : 0)));
+        out.putInt(w.enemyDx);
+        out.putLong(w.lastShotTick);
+        out.putLong(w.lastEnemyShotTick);
+
+        Player p = w.player;
+        out.putInt(p.x);
+        out.putInt(p.prevX);
+
+        Formation f = w.formation;
+        out.putInt(f.originX());
+        out.putInt(f.originY());
+        out.putInt(f.prevOriginX);
+        out.putInt(f.prevOriginY);
+        for (int word = 0, words = (f.size + 63) >>> 6; word < words; word++) {
+            out.putLong(aliveWord(f, word));
+        }
+
+        writeBullets(w.bullets, out);
+        writeBullets(w.enemyBullets, out);
+
+        for (Barrier b : w.barriers.barriers) {
+            out.putInt(b.liveCells);
+            out.put(b.hp);
+        }
+    }
+
+    // write した状態に戻す。別の世代（reset の前）の状態なら、そのシードで配置し直してから戻す（遅い道。クラスの説明を参照）
+    public static void read(ByteBuffer in, GameWorld w) {
+        long tick = in.getLong();
+        int generation = in.getInt();
+        long seed = in.getLong();
+        long randomState = in.getLong();
+        int flags = in.get();
+
+        if (w.player == null || w.generation != generation) {
+            w.reset(seed);
+            w.generation = generation;
+        }
+        w.tick = tick;
+        w.seed = seed;
+        w.random.setState(randomState);
+        w.gameOver = (flags & 1) != 0;
+        w.gameClear = (flags & 2) != 0;
+        w.enemyDx = in.getInt();
+        w.lastShotTick = in.getLong();
+        w.lastEnemyShotTick = in.getLong();
+
+        Player p = w.player;
+        p.x = in.getInt();
+        p.prevX = in.getInt();
+
+        Formation f = w.formation;
+        int originX = in.getInt(), originY = in.getInt();
+        int prevOriginX = in.getInt(), prevOriginY = in.getInt();
+
+        // 生き返る敵がいる時だけ全員並べ直す（列・行の範囲も作り直される）。
+        // 数ティック戻すだけなら普通は倒れた敵が増えるだけなので、その分を消して原点を動かせば済む
+        int words = (f.size + 63) >>> 6;
+        int masks = in.position();
+        boolean revive = false;
+        for (int word = 0; word < words && !revive; word++) {
+            revive = (in.getLong(masks + word * 8) & ~aliveWord(f, word)) != 0;
+        }
+        if (revive) {
+            f.reset(originX, originY);
+        } else {
+            f.move(originX - f.originX(), originY - f.originY());
+        }
+        for (int word = 0; word < words; word++) {
+            long bits = in.getLong();
+            long dead = aliveWord(f, word) & ~bits;
+            while (dead != 0) {
+                f.kill((word << 6) + Long.numberOfTrailingZeros(dead));
+                dead &= dead - 1;
+            }
+        }
+        f.prevOriginX = prevOriginX;
+        f.prevOriginY = prevOriginY;
+
+        readBullets(in, w.bullets);
+        readBullets(in, w.enemyBullets);
+
+        for (Barrier b : w.barriers.barriers) {
+            b.liveCells = in.getInt();
+            in.get(b.hp);
+            b.version++;   // 描画キャッシュに写し直させる
+        }
+    }
+
+    // 敵 word * 64 〜 word * 64 + 63 の生存ビット
+    private static long aliveWord(Formation f, int word) {
+        long bits = 0;
+        int base = word << 6;
+        for (int i = base, end = Math.min(base + 64, f.size); i < end; i++) {
+            if (f.alive[i]) bits |= 1L << (i - base);
+        }
+        return bits;
+    }
+
+    private static void writeBullets(BulletPool pool, ByteBuffer out) {
+        out.putInt(pool.count);
+        for (int i = 0; i < pool.count; i++) {
+            out.putShort((short) pool.x[i]);
+            out.putShort((short) pool.y[i]);
+            out.put((byte) pool.width[i]);
+            out.put((byte) pool.height[i]);
+            out.put((byte) pool.speed[i]);
+        }
+    }
+
+    private static void readBullets(ByteBuffer in, BulletPool pool) {
+        pool.clear();
+        for (int i = 0, n = in.getInt(); i < n; i++) {
+            int x = in.getShort();
+            int y = in.getShort();
+            int w = in.get();
+            int h = in.get();
+            int speed = in.get();
+            pool.add(x, y, w, h, speed);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package game;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 記録した入力を再生すると、記録時と同じティック数・チェックサムになること
+class InputReplayTest {
+
+    static final int MAX_TICKS = 5000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replayMatchesRecordedChecksums() throws IOException {
+        assertReplayMatches(new GameConfig(), dir.resolve("default.rec"));
+    }
+
+    @Test
+    void replayMatchesRecordedChecksumsUnderStress() throws IOException {
+        assertReplayMatches(GameConfig.stress(), dir.resolve("stress.rec"));
+    }
+
+    @Test
+    void headerKeepsConfigAndTickLength() throws IOException {
+        GameConfig config = new GameConfig();
+        config.enemyRows = 6;
+        config.barrierCount = 8;
+        Path file = dir.resolve("header.rec");
+        try (InputRecorder recorder = new InputRecorder(file, config, 20_000_000L)) {
+            recorder.reset(1);
+        }
+        try (InputReplay replay = new InputReplay(file)) {
+            assertEquals(20_000_000L, replay.stepNanos());
+            assertEquals(config.toString(), replay.config().toString());
+        }
+    }
+
+    private static void assertReplayMatches(GameConfig config, Path file) throws IOException {
+        GameWorld world = new GameWorld(config);
+        GameRandom seeds = new GameRandom(7);
+        long recordedTicks = 0;
+        try (InputRecorder recorder = new InputRecorder(file, config, GameSimulation.STEP_NANOS)) {
+            for (int game = 0; game < 3; game++) {
+                long seed = seeds.nextLong();
+                world.reset(seed);
+                recorder.reset(seed);
+                InputPolicy policy = InputPolicy.named("random", seed);
+                while (world.isRunning() && world.tick < MAX_TICKS) {
+                    InputFrame input = policy.next(world);
+                    world.tick(input);
+                    recorder.tick(input.bits);
+                    recordedTicks++;
+                }
+                recorder.check(world.tick, world.checksum());
+            }
+        }
+
+        try (InputReplay replay = new InputReplay(file)) {
+            ReplayRunner.Summary summary = ReplayRunner.play(replay, new GameWorld(replay.config()), false);
+            assertEquals(3, summary.checks, summary.toString());
+            assertEquals(0, summary.mismatches, summary.toString());
+            assertEquals(recordedTicks, summary.ticks);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package game;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// ParallelPhases を使っても、逐次版と毎ティック同じチェックサム・同じ順番の通知になること
+class ParallelPhasesTest {
+
+    static final int MAX_TICKS = 4000;
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void startPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void stopPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void parallelMatchesSequential() {
+        for (long seed = 1; seed <= 3; seed++) assertParity(new GameConfig(), seed);
+    }
+
+    @Test
+    void parallelMatchesSequentialUnderStress() {
+        for (long seed = 1; seed <= 2; seed++) assertParity(GameConfig.stress(), seed);
+    }
+
+    private static void assertParity(GameConfig config, long seed) {
+        StringBuilder sequentialEvents = new StringBuilder();
+        StringBuilder parallelEvents = new StringBuilder();
+        GameWorld sequential = world(config, null, sequentialEvents);
+        // threshold 1 で弾が1発でもあれば並列側を通す
+        GameWorld parallel = world(config, new ParallelPhases(pool, 1), parallelEvents);
+        sequential.reset(seed);
+        parallel.reset(seed);
+        InputPolicy policy = InputPolicy.named("random", seed);
+
+        while (sequential.isRunning() && sequential.tick < MAX_TICKS) {
+            InputFrame input = policy.next(sequential);
+            sequential.tick(input);
+            parallel.tick(input);
+            assertEquals(sequential.checksum(), parallel.checksum(), "seed " + seed + " tick " + sequential.tick);
+        }
+        assertEquals(sequentialEvents.toString(), parallelEvents.toString(), "events for seed " + seed);
+    }
+
+    private static GameWorld world(GameConfig config, ParallelPhases phases, StringBuilder events) {
+        GameWorld world = new GameWorld(config);
+        world.setParallel(phases);
+        world.setListener(new GameWorld.Listener() {
+            @Override
+            public void enemyKilled(int x, int y) {
+                events.append('k').append(x).append(',').append(y).append(';');
+            }
+
+            @Override
+            public void barrierHit(int x, int y) {
+                events.append('b').append(x).append(',').append(y).append(';');
+            }
+
+            @Override
+            public void playerDown(int x, int y) {
+                events.append('d').append(x).append(',').append(y).append(';');
+            }
+        });
+        return world;
+    }
+}
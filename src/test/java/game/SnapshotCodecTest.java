@@ -0,0 +1,78 @@
+package game;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// FULL の後に DELTA を続けて鏡に反映すると、毎ティック送り手と同じ見た目の状態になること
+class SnapshotCodecTest {
+
+    static final int TICKS = 3000;
+
+    @Test
+    void mirrorFollowsServerWithDeltas() {
+        assertMirrorParity(new GameConfig(), 11);
+    }
+
+    @Test
+    void mirrorFollowsServerWithDeltasUnderStress() {
+        assertMirrorParity(GameConfig.stress(), 12);
+    }
+
+    private static void assertMirrorParity(GameConfig config, long seed) {
+        GameWorld server = new GameWorld(config);
+        GameWorld mirror = new GameWorld(config);
+        SnapshotCodec codec = new SnapshotCodec();
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+        InputPolicy policy = InputPolicy.named("tracking", seed);
+
+        server.reset(seed);
+        int games = 0;
+        for (int t = 0; t < TICKS; t++) {
+            if (!server.isRunning()) {
+                server.reset(seed + ++games);   // リスタートの後は FULL になる
+            }
+            server.tick(policy.next(server));
+
+            boolean full = codec.needsFull(server);
+            buffer.clear();
+            if (full) {
+                codec.writeFull(server, buffer);
+            } else {
+                codec.writeDelta(server, buffer);
+            }
+            buffer.flip();
+            SnapshotCodec.apply(buffer, full, mirror);
+            assertEquals(0, buffer.remaining(), "unread bytes at tick " + server.tick);
+            assertSameView(server, mirror);
+        }
+    }
+
+    private static void assertSameView(GameWorld expected, GameWorld actual) {
+        String at = "tick " + expected.tick;
+        assertEquals(expected.tick, actual.tick, at);
+        assertEquals(expected.generation, actual.generation, at);
+        assertEquals(expected.gameOver, actual.gameOver, at);
+        assertEquals(expected.gameClear, actual.gameClear, at);
+        assertEquals(expected.player.x, actual.player.x, at);
+        assertEquals(expected.formation.originX(), actual.formation.originX(), at);
+        assertEquals(expected.formation.originY(), actual.formation.originY(), at);
+        assertArrayEquals(expected.formation.alive, actual.formation.alive, at);
+        assertSameBullets(expected.bullets, actual.bullets, at);
+        assertSameBullets(expected.enemyBullets, actual.enemyBullets, at);
+        for (int i = 0; i < expected.barriers.size(); i++) {
+            assertArrayEquals(expected.barriers.get(i).hp, actual.barriers.get(i).hp, at + " barrier " + i);
+            assertEquals(expected.barriers.get(i).liveCells, actual.barriers.get(i).liveCells, at + " barrier " + i);
+        }
+    }
+
+    private static void assertSameBullets(BulletPool expected, BulletPool actual, String at) {
+        assertEquals(expected.count, actual.count, at);
+        assertArrayEquals(Arrays.copyOf(expected.x, expected.count), Arrays.copyOf(actual.x, actual.count), at);
+        assertArrayEquals(Arrays.copyOf(expected.y, expected.count), Arrays.copyOf(actual.y, actual.count), at);
+    }
+}
@@ -0,0 +1,69 @@
+package game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 保存した状態に戻して同じ入力で進め直すと、最初と同じチェックサムの並びになること
+class StateRingTest {
+
+    static final int TICKS = 1500;
+    static final int BACK = 60;
+
+    @Test
+    void rewindAndReplayGivesSameChecksums() {
+        assertRewindParity(new GameConfig(), 3);
+    }
+
+    @Test
+    void rewindAndReplayGivesSameChecksumsUnderStress() {
+        assertRewindParity(GameConfig.stress(), 5);
+    }
+
+    private static void assertRewindParity(GameConfig config, long seed) {
+        GameWorld world = new GameWorld(config);
+        world.reset(seed);
+        InputPolicy policy = InputPolicy.named("tracking", seed);
+        StateRing ring = new StateRing(BACK + 1);
+
+        int[] inputs = new int[TICKS];
+        long[] checksums = new long[TICKS];
+        int ticks = 0;
+        ring.save(world);
+        while (world.isRunning() && ticks < TICKS) {
+            InputFrame input = policy.next(world);
+            world.tick(input);
+            inputs[ticks] = input.bits;
+            checksums[ticks] = world.checksum();
+            ticks++;
+            ring.save(world);
+
+            // 途中で何度か BACK ティック戻り、同じ入力で進め直す
+            if (ticks % 100 == 0 && ticks >= BACK) {
+                ring.rewind(world, BACK);
+                assertEquals(checksums[ticks - BACK - 1], world.checksum(), "restored state at tick " + (ticks - BACK));
+                for (int t = ticks - BACK; t < ticks; t++) {
+                    world.tick(InputFrame.ofBits(inputs[t]));
+                    assertEquals(checksums[t], world.checksum(), "re-simulated tick " + (t + 1));
+                    ring.save(world);
+                }
+            }
+        }
+
+        assertTrue(ticks >= 300, "game ended too early to rewind: " + ticks);
+
+        // 最後に全部戻して、はじめから記録と同じように進むこと
+        GameWorld replayed = new GameWorld(config);
+        replayed.reset(seed);
+        long[] again = new long[ticks];
+        for (int t = 0; t < ticks; t++) {
+            replayed.tick(InputFrame.ofBits(inputs[t]));
+            again[t] = replayed.checksum();
+        }
+        assertArrayEquals(Arrays.copyOf(checksums, ticks), again);
+    }
+}